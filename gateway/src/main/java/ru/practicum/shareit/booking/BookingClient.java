@@ -6,10 +6,12 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -30,6 +32,13 @@ public class BookingClient extends BaseClient {
         return get("/" + id, userId);
     }
 
+    public ResponseEntity<Object> getBookingsBatch(long userId, List<Long> ids) {
+        Map<String, Object> parameters = Map.of(
+                "ids", StringUtils.collectionToCommaDelimitedString(ids)
+        );
+        return get("/batch?ids={ids}", userId, parameters);
+    }
+
     public ResponseEntity<Object> getAllBookingsByBookerId(long bookerId, String state, long from, long size) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
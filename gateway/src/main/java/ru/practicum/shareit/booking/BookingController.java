@@ -12,6 +12,7 @@ import ru.practicum.shareit.exceptions.IncorrectParameterException;
 
 import javax.validation.Valid;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -19,6 +20,7 @@ import java.time.LocalDateTime;
 @Slf4j
 @Validated
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 100;
     private final BookingClient bookingClient;
 
     @GetMapping("/{id}")
@@ -28,6 +30,17 @@ public class BookingController {
         return bookingClient.getBookingById(userId, id);
     }
 
+    @GetMapping("/batch")
+    public ResponseEntity<Object> getBookingsBatch(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @RequestParam("ids") List<Long> ids) {
+        log.info("Получили бронирования с id {}", ids);
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            log.info("Неверный параметр ids: {}, должно быть от 1 до {} id ", ids.size(), MAX_BATCH_SIZE);
+            throw new IncorrectParameterException("Неверный параметр ids: должно быть от 1 до " + MAX_BATCH_SIZE + " id");
+        }
+        return bookingClient.getBookingsBatch(userId, ids);
+    }
+
     @GetMapping
     public ResponseEntity<Object> getAllBookingsByBookerId(@RequestHeader("X-Sharer-User-Id") long bookerId,
                                                            @RequestParam(value = "state", defaultValue = "ALL") String state,
@@ -1,18 +1,27 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public class BaseClient {
+    private static final int STREAM_BUFFER_SIZE = 8192;
     protected final RestTemplate rest;
 
     public BaseClient(RestTemplate rest) {
@@ -79,6 +88,44 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<StreamingResponseBody> stream(String path, @Nullable Long userId, MediaType mediaType) {
+        ClientHttpResponse response;
+        int status;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory()
+                    .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+            request.getHeaders().setAccept(List.of(mediaType));
+            if (userId != null) {
+                request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+            }
+            response = request.execute();
+            status = response.getRawStatusCode();
+            if (!HttpStatus.Series.SUCCESSFUL.equals(HttpStatus.Series.resolve(status))) {
+                try (response) {
+                    byte[] body = StreamUtils.copyToByteArray(response.getBody());
+                    return ResponseEntity.status(status)
+                            .headers(errorHeaders(response.getHeaders()))
+                            .body(outputStream -> outputStream.write(body));
+                }
+            }
+        } catch (IOException e) {
+            throw new ResourceAccessException("Ошибка при обращении к серверу: " + e.getMessage(), e);
+        }
+        return ResponseEntity.status(status)
+                .contentType(mediaType)
+                .body(outputStream -> {
+                    try (response) {
+                        InputStream body = response.getBody();
+                        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+                        int read;
+                        while ((read = body.read(buffer)) != -1) {
+                            outputStream.write(buffer, 0, read);
+                            outputStream.flush();
+                        }
+                    }
+                });
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
@@ -106,6 +153,14 @@ public class BaseClient {
         return headers;
     }
 
+    private static HttpHeaders errorHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders.getContentType() != null) {
+            headers.setContentType(serverHeaders.getContentType());
+        }
+        return headers;
+    }
+
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
             return response;
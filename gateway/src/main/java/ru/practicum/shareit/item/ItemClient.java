@@ -6,11 +6,15 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -35,17 +39,62 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getAllItems(long userId, String cursor, long size) {
+        Map<String, Object> parameters = Map.of(
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?cursor={cursor}&size={size}", userId, parameters);
+    }
+
     public ResponseEntity<Object> getItemById(long userId, long id) {
         return get("/" + id, userId);
     }
 
-    public ResponseEntity<Object> searchItems(long userId, String text, long from, long size) {
+    public ResponseEntity<Object> getItemsBatch(long userId, List<Long> ids) {
+        Map<String, Object> parameters = Map.of(
+                "ids", StringUtils.collectionToCommaDelimitedString(ids)
+        );
+        return get("/batch?ids={ids}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getItemAvailability(long userId, long id, LocalDateTime from, LocalDateTime to) {
         Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + id + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getMatchingRequests(long userId, long id) {
+        return get("/" + id + "/matching-requests", userId);
+    }
+
+    public ResponseEntity<Object> searchItems(long userId, String text, LocalDateTime start, LocalDateTime end,
+                                              boolean ranked, long from, long size) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "text", text,
                 "from", from,
                 "size", size
+        ));
+        String path = "/search?text={text}&from={from}&size={size}";
+        if (start != null && end != null) {
+            parameters.put("start", start);
+            parameters.put("end", end);
+            path += "&start={start}&end={end}";
+        }
+        if (ranked) {
+            path += "&ranked=true";
+        }
+        return get(path, userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAutocomplete(long userId, String prefix, int limit) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "limit", limit
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return get("/autocomplete?prefix={prefix}&limit={limit}", userId, parameters);
     }
 
     public ResponseEntity<Object> saveItem(long userId, ItemDto itemDto) {
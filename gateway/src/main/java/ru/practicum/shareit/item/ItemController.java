@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -10,6 +11,8 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -17,12 +20,14 @@ import javax.validation.Valid;
 @RequestMapping(path = "/items")
 @Validated
 public class ItemController {
+    private static final int MAX_BATCH_SIZE = 100;
     private final ItemClient itemClient;
 
     @GetMapping
     public ResponseEntity<Object> getAllItems(@RequestHeader("X-Sharer-User-Id") long userId,
                                               @RequestParam(value = "from", defaultValue = "0") long from,
-                                              @RequestParam(value = "size", defaultValue = "10") long size) {
+                                              @RequestParam(value = "size", defaultValue = "10") long size,
+                                              @RequestParam(value = "cursor", required = false) String cursor) {
         if (from < 0) {
             log.info("Неверный параметр from: {}, from должен быть больше 0 ", from);
             throw new IncorrectParameterException("Неверный параметр from: {}, from должен быть больше 0 " + from);
@@ -32,9 +37,23 @@ public class ItemController {
             throw new IncorrectParameterException("Неверный параметр size: {}, size должен быть больше 0 " + size);
         }
         log.info("Получили все вещи");
+        if (cursor != null) {
+            return itemClient.getAllItems(userId, cursor, size);
+        }
         return itemClient.getAllItems(userId, from, size);
     }
 
+    @GetMapping("/batch")
+    public ResponseEntity<Object> getItemsBatch(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                @RequestParam("ids") List<Long> ids) {
+        log.info("Получили вещи с id {}", ids);
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            log.info("Неверный параметр ids: {}, должно быть от 1 до {} id ", ids.size(), MAX_BATCH_SIZE);
+            throw new IncorrectParameterException("Неверный параметр ids: должно быть от 1 до " + MAX_BATCH_SIZE + " id");
+        }
+        return itemClient.getItemsBatch(userId, ids);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Object> getItemById(@RequestHeader("X-Sharer-User-Id") long userId,
                                               @PathVariable("id") long id) {
@@ -42,9 +61,36 @@ public class ItemController {
         return itemClient.getItemById(userId, id);
     }
 
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<Object> getItemAvailability(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @PathVariable("id") long id,
+                                                      @RequestParam(value = "from")
+                                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                      @RequestParam(value = "to")
+                                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            log.info("Неверный период: начало {} должно быть раньше окончания {}", from, to);
+            throw new IncorrectParameterException("Начало периода должно быть раньше его окончания!");
+        }
+        log.info("Получили занятость вещи id {} с {} по {}", id, from, to);
+        return itemClient.getItemAvailability(userId, id, from, to);
+    }
+
+    @GetMapping("/{id}/matching-requests")
+    public ResponseEntity<Object> getMatchingRequests(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @PathVariable("id") long id) {
+        log.info("Получили запросы, подходящие вещи id {}", id);
+        return itemClient.getMatchingRequests(userId, id);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Object> searchItems(@RequestHeader("X-Sharer-User-Id") long userId,
                                               @RequestParam(value = "text") String text,
+                                              @RequestParam(value = "start", required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                              @RequestParam(value = "end", required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                              @RequestParam(value = "ranked", defaultValue = "false") boolean ranked,
                                               @RequestParam(value = "from", defaultValue = "0") long from,
                                               @RequestParam(value = "size", defaultValue = "10") long size) {
         if (from < 0) {
@@ -55,8 +101,28 @@ public class ItemController {
             log.info("Неверный параметр size: {}, size должен быть больше 0 ", size);
             throw new IncorrectParameterException("Неверный параметр size: {}, size должен быть больше 0 " + size);
         }
+        if (start == null ^ end == null) {
+            log.info("Неверный период: указано только начало {} или окончание {}", start, end);
+            throw new IncorrectParameterException("Необходимо указать начало и окончание периода!");
+        }
+        if (start != null && !start.isBefore(end)) {
+            log.info("Неверный период: начало {} должно быть раньше окончания {}", start, end);
+            throw new IncorrectParameterException("Начало периода должно быть раньше его окончания!");
+        }
         log.info("Нашли указанные вещи");
-        return itemClient.searchItems(userId, text, from, size);
+        return itemClient.searchItems(userId, text, start, end, ranked, from, size);
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<Object> getAutocomplete(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                  @RequestParam(value = "prefix") String prefix,
+                                                  @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if (limit <= 0) {
+            log.info("Неверный параметр limit: {}, limit должен быть больше 0 ", limit);
+            throw new IncorrectParameterException("Неверный параметр limit: {}, limit должен быть больше 0 " + limit);
+        }
+        log.info("Получили подсказки для префикса {}", prefix);
+        return itemClient.getAutocomplete(userId, prefix, limit);
     }
 
     @PostMapping
@@ -3,9 +3,11 @@ package ru.practicum.shareit.request;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
@@ -42,7 +44,23 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getAllItemRequest(long userId, String cursor, long size) {
+        Map<String, Object> parameters = Map.of(
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/all?cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<StreamingResponseBody> getItemRequestStream(long userId) {
+        return stream("/stream", userId, MediaType.TEXT_EVENT_STREAM);
+    }
+
     public ResponseEntity<Object> getItemRequestById(long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
+
+    public ResponseEntity<Object> getSuggestions(long userId, long requestId) {
+        return get("/" + requestId + "/suggestions", userId);
+    }
 }
@@ -2,12 +2,16 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.client.StreamTimeoutInterceptor;
 import ru.practicum.shareit.exceptions.IncorrectParameterException;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 
 @Slf4j
@@ -16,6 +20,7 @@ import javax.validation.Valid;
 @RequestMapping(path = "/requests")
 @Validated
 public class ItemRequestController {
+    private static final long STREAM_TIMEOUT = 1_800_000;
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
@@ -34,7 +39,8 @@ public class ItemRequestController {
     @GetMapping("/all")
     public ResponseEntity<Object> getAllItemRequest(@RequestHeader("X-Sharer-User-Id") long userId,
                                                     @RequestParam(value = "from", defaultValue = "0") long from,
-                                                    @RequestParam(value = "size", defaultValue = "1") long size) {
+                                                    @RequestParam(value = "size", defaultValue = "1") long size,
+                                                    @RequestParam(value = "cursor", required = false) String cursor) {
         if (from < 0) {
             log.info("Неверный параметр from: {}, from должен быть больше 0 ", from);
             throw new IncorrectParameterException("Неверный параметр from: {}, from должен быть больше 0 " + from);
@@ -44,13 +50,31 @@ public class ItemRequestController {
             throw new IncorrectParameterException("Неверный параметр size: {}, size должен быть больше 0 " + size);
         }
         log.info("Получили все запросы других пользователей");
+        if (cursor != null) {
+            return itemRequestClient.getAllItemRequest(userId, cursor, size);
+        }
         return itemRequestClient.getAllItemRequest(userId, from, size);
     }
 
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> getItemRequestStream(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                      HttpServletRequest request) {
+        log.info("Подписались на новые запросы других пользователей");
+        StreamTimeoutInterceptor.register(request, STREAM_TIMEOUT);
+        return itemRequestClient.getItemRequestStream(userId);
+    }
+
     @GetMapping("/{requestId}")
     public ResponseEntity<Object> getItemRequestById(@RequestHeader("X-Sharer-User-Id") long userId,
                                                      @PathVariable("requestId") Long requestId) {
         log.info("Получили запрос с id {}", requestId);
         return itemRequestClient.getItemRequestById(userId, requestId);
     }
+
+    @GetMapping("/{requestId}/suggestions")
+    public ResponseEntity<Object> getSuggestions(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @PathVariable("requestId") long requestId) {
+        log.info("Получили вещи, подходящие запросу с id {}", requestId);
+        return itemRequestClient.getSuggestions(userId, requestId);
+    }
 }
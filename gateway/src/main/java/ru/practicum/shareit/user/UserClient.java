@@ -3,13 +3,21 @@ package ru.practicum.shareit.user;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
@@ -28,6 +36,31 @@ public class UserClient extends BaseClient {
         return get("");
     }
 
+    public ResponseEntity<Object> getAllUsers(long from, @Nullable Long size, @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of("from", from));
+        String path = "?from={from}";
+        if (size != null) {
+            parameters.put("size", size);
+            path += "&size={size}";
+        }
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+        return get(path, null, parameters);
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return stream("", null, MediaType.APPLICATION_NDJSON);
+    }
+
+    public ResponseEntity<Object> getUsersBatch(List<Long> ids) {
+        Map<String, Object> parameters = Map.of(
+                "ids", StringUtils.collectionToCommaDelimitedString(ids)
+        );
+        return get("/batch?ids={ids}", null, parameters);
+    }
+
     public ResponseEntity<Object> getUserById(long id) {
         return get("/" + id);
     }
@@ -2,12 +2,18 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.client.StreamTimeoutInterceptor;
+import ru.practicum.shareit.exceptions.IncorrectParameterException;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -15,12 +21,45 @@ import javax.validation.Valid;
 @RequestMapping(path = "/users")
 @Validated
 public class UserController {
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final long EXPORT_TIMEOUT = 1_800_000;
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public ResponseEntity<Object> getAllUsers(@RequestParam(value = "from", required = false) Long from,
+                                              @RequestParam(value = "size", required = false) Long size,
+                                              @RequestParam(value = "cursor", required = false) String cursor) {
         log.info("Получили всех пользователей");
-        return userClient.getAllUsers();
+        if (from == null && size == null && cursor == null) {
+            return userClient.getAllUsers();
+        }
+        long offset = from == null ? 0 : from;
+        if (offset < 0) {
+            log.info("Неверный параметр from: {}, from должен быть больше 0 ", offset);
+            throw new IncorrectParameterException("Неверный параметр from: {}, from должен быть больше 0 " + offset);
+        }
+        if (size != null && size <= 0) {
+            log.info("Неверный параметр size: {}, size должен быть больше 0 ", size);
+            throw new IncorrectParameterException("Неверный параметр size: {}, size должен быть больше 0 " + size);
+        }
+        return userClient.getAllUsers(offset, size, cursor);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers(HttpServletRequest request) {
+        log.info("Выгрузили всех пользователей");
+        StreamTimeoutInterceptor.register(request, EXPORT_TIMEOUT);
+        return userClient.exportUsers();
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<Object> getUsersBatch(@RequestParam("ids") List<Long> ids) {
+        log.info("Получили пользователей с id {}", ids);
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            log.info("Неверный параметр ids: {}, должно быть от 1 до {} id ", ids.size(), MAX_BATCH_SIZE);
+            throw new IncorrectParameterException("Неверный параметр ids: должно быть от 1 до " + MAX_BATCH_SIZE + " id");
+        }
+        return userClient.getUsersBatch(ids);
     }
 
     @GetMapping("/{id}")
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.BookingClient;
 import ru.practicum.shareit.booking.BookingController;
@@ -18,8 +19,13 @@ import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -33,6 +39,35 @@ public class BookingControllerTest {
     @Autowired
     private MockMvc mvc;
 
+    @Test
+    void getBookingsBatch() throws Exception {
+        long userId = 1;
+        when(bookingClient.getBookingsBatch(anyLong(), anyList()))
+                .thenReturn(ResponseEntity.ok().build());
+        mvc.perform(get("/bookings/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("ids", "3,1,2"))
+                .andExpect(status().isOk());
+        verify(bookingClient).getBookingsBatch(userId, List.of(3L, 1L, 2L));
+    }
+
+    /*указано слишком много id*/
+    @Test
+    void getBookingsBatchWithTooManyIds() throws Exception {
+        String ids = LongStream.rangeClosed(1, 101)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+        mvc.perform(get("/bookings/batch")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("ids", ids))
+                .andExpect(status().isBadRequest());
+        verify(bookingClient, never()).getBookingsBatch(anyLong(), anyList());
+    }
+
     @Test
     void saveBooking() throws Exception {
         long bookerId = 2;
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exceptions.IncorrectParameterException;
 import ru.practicum.shareit.item.ItemClient;
@@ -15,6 +16,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import java.nio.charset.StandardCharsets;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -60,6 +62,21 @@ public class ItemControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getAllItemsWithCursor() throws Exception {
+        long userId = 1;
+        when(itemClient.getAllItems(anyLong(), anyString(), anyLong()))
+                .thenReturn(ResponseEntity.ok().build());
+        mvc.perform(get("/items")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", "Mg")
+                        .param("size", "2"))
+                .andExpect(status().isOk());
+        verify(itemClient).getAllItems(userId, "Mg", 2);
+    }
+
     /*указано количество вывода на страницу = 0*/
     @Test
     void getAllItemsWithIncorrectParameterSize() throws Exception {
@@ -82,7 +99,7 @@ public class ItemControllerTest {
         long userId = 1;
         long from = -1;
         String text = "Аме";
-        when(itemClient.searchItems(anyLong(), anyString(), anyLong(), anyLong()))
+        when(itemClient.searchItems(anyLong(), anyString(), any(), any(), anyBoolean(), anyLong(), anyLong()))
                 .thenThrow(new IncorrectParameterException("Неверный параметр from: {}, from должен быть больше 0 " + from));
         mvc.perform(get("/items/search")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -100,7 +117,7 @@ public class ItemControllerTest {
         long userId = 1;
         long size = 0;
         String text = "Аме";
-        when(itemClient.searchItems(anyLong(), anyString(), anyLong(), anyLong()))
+        when(itemClient.searchItems(anyLong(), anyString(), any(), any(), anyBoolean(), anyLong(), anyLong()))
                 .thenThrow(new IncorrectParameterException("Неверный параметр size: {}, size должен быть больше 0 " + size));
         mvc.perform(get("/items/search")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -112,6 +129,62 @@ public class ItemControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    /*указано только начало периода поиска свободных вещей*/
+    @Test
+    void searchItemsWithoutEnd() throws Exception {
+        long userId = 1;
+        mvc.perform(get("/items/search")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("text", "дрель")
+                        .param("start", "2024-03-08T12:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /*начало периода поиска свободных вещей позже его окончания*/
+    @Test
+    void searchItemsWithIncorrectPeriod() throws Exception {
+        long userId = 1;
+        mvc.perform(get("/items/search")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("text", "дрель")
+                        .param("start", "2024-03-10T12:00:00")
+                        .param("end", "2024-03-08T12:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /*указан неположительный limit подсказок*/
+    @Test
+    void getAutocompleteWithIncorrectLimit() throws Exception {
+        long userId = 1;
+        mvc.perform(get("/items/autocomplete")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("prefix", "др")
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /*начало периода занятости позже его окончания*/
+    @Test
+    void getItemAvailabilityWithIncorrectPeriod() throws Exception {
+        long userId = 1;
+        mvc.perform(get("/items/1/availability")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("from", "2024-03-10T12:00:00")
+                        .param("to", "2024-03-08T12:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
     private static ItemDto makeItemDto(String name, String description, Boolean available, long requestId) {
         ItemDto itemDto = new ItemDto();
         itemDto.setName(name);
@@ -0,0 +1,69 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.request.ItemRequestClient;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class ItemRequestClientTest {
+    private MockRestServiceServer server;
+    private ItemRequestClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplateBuilder builder = new RestTemplateBuilder(rest -> server = MockRestServiceServer.bindTo(rest).build());
+        client = new ItemRequestClient("http://localhost:9090", builder);
+    }
+
+    @Test
+    void getItemRequestStream() throws Exception {
+        String events = "id:1\nevent:item-request\ndata:{\"id\":1}\n\n";
+        server.expect(requestTo("http://localhost:9090/requests/stream"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(events, MediaType.TEXT_EVENT_STREAM));
+        ResponseEntity<StreamingResponseBody> response = client.getItemRequestStream(1);
+        server.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.TEXT_EVENT_STREAM, response.getHeaders().getContentType());
+        assertEquals(events, write(response));
+    }
+
+    /*сервер ответил ошибкой, статус и тело передаются клиенту*/
+    @Test
+    void getItemRequestStreamWithServerError() throws Exception {
+        String error = "{\"error\":\"Пользователь не найден\"}";
+        server.expect(requestTo("http://localhost:9090/requests/stream"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(error.getBytes(StandardCharsets.UTF_8)));
+        ResponseEntity<StreamingResponseBody> response = client.getItemRequestStream(1);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(error, write(response));
+    }
+
+    private String write(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        assertNotNull(response.getBody());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
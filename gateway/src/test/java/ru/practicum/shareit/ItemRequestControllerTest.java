@@ -5,17 +5,26 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.exceptions.IncorrectParameterException;
 import ru.practicum.shareit.request.ItemRequestClient;
 import ru.practicum.shareit.request.ItemRequestController;
 
 import java.nio.charset.StandardCharsets;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemRequestController.class)
@@ -27,6 +36,21 @@ public class ItemRequestControllerTest {
     @Autowired
     private MockMvc mvc;
 
+    @Test
+    void getAllItemRequestWithCursor() throws Exception {
+        long userId = 1;
+        when(itemRequestClient.getAllItemRequest(anyLong(), anyString(), anyLong()))
+                .thenReturn(ResponseEntity.ok().build());
+        mvc.perform(get("/requests/all")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", "Mg")
+                        .param("size", "2"))
+                .andExpect(status().isOk());
+        verify(itemRequestClient).getAllItemRequest(userId, "Mg", 2);
+    }
+
     /*указано отрицательно число номера страницы*/
     @Test
     void getAllItemRequestWithIncorrectParameterFrom() throws Exception {
@@ -58,4 +82,26 @@ public class ItemRequestControllerTest {
                         .param("size", String.valueOf(size)))
                 .andExpect(status().isBadRequest());
     }
+
+    /*сервер вернул ошибку до начала потока*/
+    @Test
+    void getItemRequestStreamWithServerError() throws Exception {
+        long userId = 1;
+        byte[] error = "{\"error\":\"Пользователь не найден\"}".getBytes(StandardCharsets.UTF_8);
+        when(itemRequestClient.getItemRequestStream(anyLong()))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(outputStream -> outputStream.write(error)));
+        MvcResult result = mvc.perform(get("/requests/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(1_800_000, result.getRequest().getAsyncContext().getTimeout());
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(error));
+        verify(itemRequestClient).getItemRequestStream(userId);
+    }
 }
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.UserClient;
 import ru.practicum.shareit.user.UserController;
@@ -13,6 +14,12 @@ import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -25,6 +32,44 @@ public class UserControllerTest {
     @Autowired
     private MockMvc mvc;
 
+    @Test
+    void getAllUsersWithCursor() throws Exception {
+        when(userClient.getAllUsers(anyLong(), anyLong(), anyString()))
+                .thenReturn(ResponseEntity.ok().build());
+        mvc.perform(get("/users")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("cursor", "Mg")
+                        .param("size", "2"))
+                .andExpect(status().isOk());
+        verify(userClient).getAllUsers(0, 2L, "Mg");
+    }
+
+    /*указан только from*/
+    @Test
+    void getAllUsersWithFrom() throws Exception {
+        when(userClient.getAllUsers(anyLong(), any(), any()))
+                .thenReturn(ResponseEntity.ok().build());
+        mvc.perform(get("/users")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("from", "1"))
+                .andExpect(status().isOk());
+        verify(userClient).getAllUsers(1, null, null);
+        verify(userClient, never()).getAllUsers();
+    }
+
+    /*указан неположительный размер страницы*/
+    @Test
+    void getAllUsersWithIncorrectParameterSize() throws Exception {
+        mvc.perform(get("/users")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+        verify(userClient, never()).getAllUsers(anyLong(), any(), any());
+    }
+
     /*сохранение пользователя с некорректными данными*/
     @Test
     void saveUserWithIncorrectFields() throws Exception {
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Getter
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class BookingChangedEvent {
+    long id;
+    long itemId;
+    LocalDateTime start;
+    LocalDateTime end;
+    BookingStatus status;
+
+    public BookingChangedEvent(Booking booking) {
+        this.id = booking.getId();
+        this.itemId = booking.getItemId();
+        this.start = booking.getStart();
+        this.end = booking.getEnd();
+        this.status = booking.getStatus();
+    }
+}
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.common.BatchDto;
 
 import java.util.List;
 
@@ -22,6 +23,13 @@ public class BookingController {
         return bookingService.getBookingById(userId, id);
     }
 
+    @GetMapping("/batch")
+    public BatchDto<BookingDtoOut> getBookingsBatch(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                    @RequestParam("ids") List<Long> ids) {
+        log.info("Получили бронирования с id {}", ids);
+        return bookingService.getBookingsBatch(userId, ids);
+    }
+
     @GetMapping
     public List<BookingDtoOut> getAllBookingsByBookerId(@RequestHeader("X-Sharer-User-Id") long bookerId,
                                                         @RequestParam(value = "state", defaultValue = "ALL") String state,
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class BookingIntervalIndex {
+    private static final int LOAD_BATCH_SIZE = 1000;
+    BookingRepository repository;
+    Cache<Long, BookingIntervalTree> trees;
+    AtomicLong version = new AtomicLong();
+
+    public BookingIntervalIndex(BookingRepository repository,
+                                @Value("${shareit.booking-index.maximum-items:100000}") long maximumItems) {
+        this.repository = repository;
+        this.trees = Caffeine.newBuilder()
+                .maximumSize(maximumItems)
+                .build();
+    }
+
+    public BookingIntervalTree getTree(long itemId) {
+        return trees.get(itemId, this::loadTree);
+    }
+
+    public Map<Long, BookingIntervalTree> getTrees(Collection<Long> itemIds) {
+        Map<Long, BookingIntervalTree> result = new HashMap<>(trees.getAllPresent(itemIds));
+        List<Long> missing = itemIds.stream()
+                .filter(id -> !result.containsKey(id))
+                .distinct()
+                .collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return result;
+        }
+        long loadedVersion = version.get();
+        loadTrees(missing).forEach((id, tree) -> {
+            BookingIntervalTree present = trees.asMap().putIfAbsent(id, tree);
+            result.put(id, present != null ? present : tree);
+        });
+        if (loadedVersion != version.get()) {
+            trees.invalidateAll(missing);
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        version.incrementAndGet();
+        trees.asMap().computeIfPresent(event.getItemId(), (itemId, tree) ->
+                tree.upsert(event.getId(), event.getStart(), event.getEnd(), event.getStatus()));
+    }
+
+    private BookingIntervalTree loadTree(Long itemId) {
+        evictOnRollback(List.of(itemId));
+        return BookingIntervalTree.of(repository.findAllByItemId(itemId));
+    }
+
+    private Map<Long, BookingIntervalTree> loadTrees(List<Long> ids) {
+        evictOnRollback(ids);
+        Map<Long, List<Booking>> bookings = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += LOAD_BATCH_SIZE) {
+            repository.findAllByItemIdIn(ids.subList(i, Math.min(i + LOAD_BATCH_SIZE, ids.size())))
+                    .forEach(booking -> bookings.computeIfAbsent(booking.getItemId(), id -> new ArrayList<>())
+                            .add(booking));
+        }
+        Map<Long, BookingIntervalTree> loaded = new HashMap<>();
+        for (Long id : ids) {
+            loaded.put(id, BookingIntervalTree.of(bookings.getOrDefault(id, List.of())));
+        }
+        return loaded;
+    }
+
+    private void evictOnRollback(List<Long> itemIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    trees.invalidateAll(itemIds);
+                }
+            }
+        });
+    }
+}
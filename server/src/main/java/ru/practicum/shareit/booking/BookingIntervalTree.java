@@ -0,0 +1,174 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+public final class BookingIntervalTree {
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final int NANOS_PER_MICRO = 1_000;
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private final long[] ids;
+    private final long[] starts;
+    private final long[] ends;
+    private final byte[] statuses;
+    private final long[] maxEnds;
+
+    private BookingIntervalTree(long[] ids, long[] starts, long[] ends, byte[] statuses) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        this.statuses = statuses;
+        this.maxEnds = new long[ids.length];
+        buildMaxEnds(0, ids.length - 1);
+    }
+
+    public static BookingIntervalTree of(Collection<Booking> bookings) {
+        Booking[] sorted = bookings.toArray(new Booking[0]);
+        Arrays.sort(sorted, Comparator.comparing(Booking::getStart).thenComparing(Booking::getId));
+        long[] ids = new long[sorted.length];
+        long[] starts = new long[sorted.length];
+        long[] ends = new long[sorted.length];
+        byte[] statuses = new byte[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            ids[i] = sorted[i].getId();
+            starts[i] = toMicros(sorted[i].getStart());
+            ends[i] = toMicros(sorted[i].getEnd());
+            statuses[i] = (byte) sorted[i].getStatus().ordinal();
+        }
+        return new BookingIntervalTree(ids, starts, ends, statuses);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public BookingIntervalTree upsert(long id, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        int removed = indexOf(id);
+        int length = removed < 0 ? ids.length + 1 : ids.length;
+        long[] newIds = new long[length];
+        long[] newStarts = new long[length];
+        long[] newEnds = new long[length];
+        byte[] newStatuses = new byte[length];
+        long startMicros = toMicros(start);
+        int j = 0;
+        boolean inserted = false;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == removed) {
+                continue;
+            }
+            if (!inserted && (starts[i] > startMicros || starts[i] == startMicros && ids[i] > id)) {
+                newIds[j] = id;
+                newStarts[j] = startMicros;
+                newEnds[j] = toMicros(end);
+                newStatuses[j] = (byte) status.ordinal();
+                j++;
+                inserted = true;
+            }
+            newIds[j] = ids[i];
+            newStarts[j] = starts[i];
+            newEnds[j] = ends[i];
+            newStatuses[j] = statuses[i];
+            j++;
+        }
+        if (!inserted) {
+            newIds[j] = id;
+            newStarts[j] = startMicros;
+            newEnds[j] = toMicros(end);
+            newStatuses[j] = (byte) status.ordinal();
+        }
+        return new BookingIntervalTree(newIds, newStarts, newEnds, newStatuses);
+    }
+
+    public List<BookingIntervalDto> findOverlapping(LocalDateTime from, LocalDateTime to, Set<BookingStatus> states) {
+        List<BookingIntervalDto> intervals = new ArrayList<>();
+        collectOverlapping(0, ids.length - 1, toMicros(from), toMicros(to), states, intervals);
+        return intervals;
+    }
+
+    public boolean hasOverlapping(LocalDateTime from, LocalDateTime to, Set<BookingStatus> states) {
+        return hasOverlapping(0, ids.length - 1, toMicros(from), toMicros(to), states);
+    }
+
+    private long buildMaxEnds(int lo, int hi) {
+        if (lo > hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        maxEnds[mid] = Math.max(ends[mid], Math.max(buildMaxEnds(lo, mid - 1), buildMaxEnds(mid + 1, hi)));
+        return maxEnds[mid];
+    }
+
+    private void collectOverlapping(int lo, int hi, long from, long to, Set<BookingStatus> states,
+                                    List<BookingIntervalDto> intervals) {
+        if (lo > hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnds[mid] <= from) {
+            return;
+        }
+        collectOverlapping(lo, mid - 1, from, to, states, intervals);
+        if (starts[mid] >= to) {
+            return;
+        }
+        if (ends[mid] > from && states.contains(STATUSES[statuses[mid]])) {
+            intervals.add(new BookingIntervalDto(toLocalDateTime(starts[mid]), toLocalDateTime(ends[mid]),
+                    STATUSES[statuses[mid]]));
+        }
+        collectOverlapping(mid + 1, hi, from, to, states, intervals);
+    }
+
+    private boolean hasOverlapping(int lo, int hi, long from, long to, Set<BookingStatus> states) {
+        if (lo > hi) {
+            return false;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnds[mid] <= from) {
+            return false;
+        }
+        if (hasOverlapping(lo, mid - 1, from, to, states)) {
+            return true;
+        }
+        if (starts[mid] >= to) {
+            return false;
+        }
+        if (ends[mid] > from && states.contains(STATUSES[statuses[mid]])) {
+            return true;
+        }
+        return hasOverlapping(mid + 1, hi, from, to, states);
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        long seconds = dateTime.toEpochSecond(ZoneOffset.UTC);
+        try {
+            return Math.addExact(Math.multiplyExact(seconds, MICROS_PER_SECOND), dateTime.getNano() / NANOS_PER_MICRO);
+        } catch (ArithmeticException e) {
+            return seconds < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * NANOS_PER_MICRO, ZoneOffset.UTC);
+    }
+}
@@ -3,13 +3,52 @@ package ru.practicum.shareit.booking;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBookerIdOrderByEndDesc(long bookerId);
+    List<Booking> findAllByItemId(long itemId);
+
+    List<Booking> findAllByItemIdIn(Collection<Long> itemIds);
+
+    @Query(value = "select b.* " +
+            "from bookings as b " +
+            "where b.booker_id = ?1 " +
+            "order by b.end_time desc, b.id desc " +
+            "limit ?3 offset ?2", nativeQuery = true)
+    List<Booking> findAllByBookerId(long bookerId, long from, long size);
+
+    @Query(value = "select b.* " +
+            "from bookings as b " +
+            "where b.booker_id = ?1 and b.start_time < ?2 and b.end_time > ?2 " +
+            "order by b.end_time desc, b.id desc " +
+            "limit ?4 offset ?3", nativeQuery = true)
+    List<Booking> findCurrentByBookerId(long bookerId, LocalDateTime nowTime, long from, long size);
+
+    @Query(value = "select b.* " +
+            "from bookings as b " +
+            "where b.booker_id = ?1 and b.end_time < ?2 " +
+            "order by b.end_time desc, b.id desc " +
+            "limit ?4 offset ?3", nativeQuery = true)
+    List<Booking> findPastByBookerId(long bookerId, LocalDateTime nowTime, long from, long size);
+
+    @Query(value = "select b.* " +
+            "from bookings as b " +
+            "where b.booker_id = ?1 and b.start_time > ?2 " +
+            "order by b.end_time desc, b.id desc " +
+            "limit ?4 offset ?3", nativeQuery = true)
+    List<Booking> findFutureByBookerId(long bookerId, LocalDateTime nowTime, long from, long size);
+
+    @Query(value = "select b.* " +
+            "from bookings as b " +
+            "where b.booker_id = ?1 and b.status = ?2 " +
+            "order by b.end_time desc, b.id desc " +
+            "limit ?4 offset ?3", nativeQuery = true)
+    List<Booking> findAllByBookerIdAndStatus(long bookerId, String status, long from, long size);
 
     @Query(value = "select b.* " +
             "from bookings as b " +
@@ -18,6 +57,52 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "order by b.end_time desc ", nativeQuery = true)
     List<Booking> findAllByOwnerId(long ownerId);
 
+    @Query(value = "select b.* " +
+            "from bookings as b " +
+            "join items as i on b.item_id = i.id " +
+            "where i.user_id = ?1 " +
+            "order by b.end_time desc, b.id desc " +
+            "limit ?3 offset ?2", nativeQuery = true)
+    List<Booking> findAllByOwnerId(long ownerId, long from, long size);
+
+    @Query(value = "select b.* " +
+            "from bookings as b " +
+            "join items as i on b.item_id = i.id " +
+            "where i.user_id = ?1 and b.start_time < ?2 and b.end_time > ?2 " +
+            "order by b.end_time desc, b.id desc " +
+            "limit ?4 offset ?3", nativeQuery = true)
+    List<Booking> findCurrentByOwnerId(long ownerId, LocalDateTime nowTime, long from, long size);
+
+    @Query(value = "select b.* " +
+            "from bookings as b " +
+            "join items as i on b.item_id = i.id " +
+            "where i.user_id = ?1 and b.end_time < ?2 " +
+            "order by b.end_time desc, b.id desc " +
+            "limit ?4 offset ?3", nativeQuery = true)
+    List<Booking> findPastByOwnerId(long ownerId, LocalDateTime nowTime, long from, long size);
+
+    @Query(value = "select b.* " +
+            "from bookings as b " +
+            "join items as i on b.item_id = i.id " +
+            "where i.user_id = ?1 and b.start_time > ?2 " +
+            "order by b.end_time desc, b.id desc " +
+            "limit ?4 offset ?3", nativeQuery = true)
+    List<Booking> findFutureByOwnerId(long ownerId, LocalDateTime nowTime, long from, long size);
+
+    @Query(value = "select b.* " +
+            "from bookings as b " +
+            "join items as i on b.item_id = i.id " +
+            "where i.user_id = ?1 and b.status = ?2 " +
+            "order by b.end_time desc, b.id desc " +
+            "limit ?4 offset ?3", nativeQuery = true)
+    List<Booking> findAllByOwnerIdAndStatus(long ownerId, String status, long from, long size);
+
+    @Query(value = "select b.* " +
+            "from bookings as b " +
+            "join items as i on i.id = b.item_id " +
+            "where b.id in ?1 and (b.booker_id = ?2 or i.user_id = ?2)", nativeQuery = true)
+    List<Booking> findAllByIdInAndUserId(Collection<Long> ids, long userId);
+
     @Query(value = "select i.user_id " +
             "from items as i " +
             "left join bookings as b on b.item_id = i.id " +
@@ -29,6 +114,11 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "where i.id = ?1", nativeQuery = true)
     Long findOwnerIdByItemId(long itemId);
 
+    @Query("select case when count(b) > 0 then true else false end " +
+            "from Booking as b " +
+            "where b.itemId = ?1 and b.status = ?2 and b.start < ?4 and b.end > ?3")
+    boolean existsOverlappingBooking(long itemId, BookingStatus status, LocalDateTime start, LocalDateTime end);
+
     @Query(value = "select b.* " +
             "from bookings as b " +
             "where b.item_id = ?1 and b.end_time < ?2 " +
@@ -43,6 +133,20 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "limit 1", nativeQuery = true)
     Optional<Booking> findNextBookingByItemId(long itemId, LocalDateTime nowTime);
 
+    @Query(value = "select t.item_id as \"itemId\", t.kind as \"kind\", t.id as \"id\", " +
+            "t.booker_id as \"bookerId\" " +
+            "from (select b.item_id, 'LAST' as kind, b.id, b.booker_id, " +
+            "row_number() over (partition by b.item_id order by b.end_time desc, b.id desc) as booking_rank " +
+            "from bookings as b " +
+            "where b.item_id in ?1 and b.end_time < ?2 " +
+            "union all " +
+            "select b.item_id, 'NEXT' as kind, b.id, b.booker_id, " +
+            "row_number() over (partition by b.item_id order by b.start_time, b.id) as booking_rank " +
+            "from bookings as b " +
+            "where b.item_id in ?1 and b.start_time > ?2) as t " +
+            "where t.booking_rank = 1", nativeQuery = true)
+    List<ItemBookingView> findLastAndNextBookingsByItemIdIn(Collection<Long> itemIds, LocalDateTime nowTime);
+
     @Query(value = "select b.* " +
             "from bookings as b " +
             "where b.booker_id = ?1 and b.item_id = ?2 and b.end_time < ?3 " +
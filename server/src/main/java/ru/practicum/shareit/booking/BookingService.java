@@ -2,7 +2,9 @@ package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.common.BatchDto;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BookingService {
@@ -10,6 +12,8 @@ public interface BookingService {
 
     BookingDtoOut getBookingById(long userId, long id);
 
+    BatchDto<BookingDtoOut> getBookingsBatch(long userId, Collection<Long> ids);
+
     BookingDtoOut updateBooking(long ownerId, String approved, long id);
 
     List<BookingDtoOut> getAllBookingsByBookerId(long bookerId, String state, long from, long size);
@@ -4,22 +4,34 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.common.BatchDto;
+import ru.practicum.shareit.common.BatchMapper;
+import ru.practicum.shareit.common.EntityType;
+import ru.practicum.shareit.common.ExistenceIndex;
 import ru.practicum.shareit.exceptions.IncorrectParameterException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,7 +42,10 @@ import java.util.stream.Collectors;
 public class BookingServiceImpl implements BookingService {
     BookingRepository repository;
     ItemService itemService;
+    ItemRepository itemRepository;
     UserService userService;
+    ApplicationEventPublisher eventPublisher;
+    ExistenceIndex existenceIndex;
 
     @Transactional
     @Override
@@ -44,9 +59,13 @@ public class BookingServiceImpl implements BookingService {
             log.error("Владелец вещи не может забронировать свою вещь!");
             throw new NotFoundException("Владелец вещи не может забронировать свою вещь!");
         }
+        itemRepository.findByIdForUpdate(bookingDtoIn.getItemId());
+        bookingOverlapValid(bookingDtoIn.getItemId(), bookingDtoIn.getStart(), bookingDtoIn.getEnd());
         Booking booking = BookingMapper.toBooking(bookerId, bookingDtoIn);
         booking.setStatus(BookingStatus.WAITING);
         repository.save(booking);
+        existenceIndex.add(EntityType.BOOKING, booking.getId());
+        eventPublisher.publishEvent(new BookingChangedEvent(booking));
         BookingDtoOut bookingDtoOut = setBookerAndItem(booking, userService.getUserById(bookerId),
                 itemService.getItemById(bookerId, bookingDtoIn.getItemId()));
         return bookingDtoOut;
@@ -65,6 +84,15 @@ public class BookingServiceImpl implements BookingService {
         return bookingDtoOut;
     }
 
+    @Override
+    public BatchDto<BookingDtoOut> getBookingsBatch(long userId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new BatchDto<>(List.of(), List.of());
+        }
+        return BatchMapper.toBatchDto(ids, setBookersAndItems(repository.findAllByIdInAndUserId(new HashSet<>(ids),
+                userId)), BookingDtoOut::getId);
+    }
+
     @Transactional
     @Override
     public BookingDtoOut updateBooking(long ownerId, String approved, long id) {
@@ -80,12 +108,20 @@ public class BookingServiceImpl implements BookingService {
             throw new IncorrectParameterException("Поменять статус этого бронирования уже нельзя!");
         }
         if (approved.equals("true")) {
+            itemRepository.findByIdForUpdate(booking.getItemId());
+            bookingOverlapValid(booking.getItemId(), booking.getStart(), booking.getEnd());
             booking.setStatus(BookingStatus.APPROVED);
         }
         if (approved.equals("false")) {
             booking.setStatus(BookingStatus.REJECTED);
         }
-        repository.save(booking);
+        try {
+            repository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            log.error("Бронирование с id {} пересекается с уже подтвержденным бронированием!", id);
+            throw new IncorrectParameterException("Вещь уже забронирована на это время!");
+        }
+        eventPublisher.publishEvent(new BookingChangedEvent(booking));
         BookingDtoOut bookingDtoOut = setBookerAndItem(booking, userService.getUserById(repository.getById(id).getBookerId()),
                 itemService.getItemById(ownerId, repository.getById(id).getItemId()));
         return bookingDtoOut;
@@ -94,69 +130,75 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingDtoOut> getAllBookingsByBookerId(long bookerId, String state, long from, long size) {
         userValid(bookerId);
-        List<BookingDtoOut> bookingDtoOuts = new ArrayList<>();
-        for (Booking booking : repository.findAllByBookerIdOrderByEndDesc(bookerId)) {
-            BookingDtoOut bookingDtoOut = setBookerAndItem(booking, userService.getUserById(repository.getById(bookerId).getBookerId()),
-                    itemService.getItemById(bookerId, booking.getItemId()));
-            addBookingsByState(booking, bookingDtoOuts, bookingDtoOut, state);
-        }
-        return bookingDtoOuts.stream()
-                .skip(from)
-                .limit(size)
-                .collect(Collectors.toList());
+        return setBookersAndItems(findBookerBookingsByState(bookerId, state, LocalDateTime.now(), from, size));
     }
 
     @Override
     public List<BookingDtoOut> getAllBookingsByOwnerId(long ownerId, String state, long from, long size) {
         userValid(ownerId);
-        List<BookingDtoOut> bookingDtoOuts = new ArrayList<>();
-        for (Booking booking : repository.findAllByOwnerId(ownerId)) {
-            BookingDtoOut bookingDtoOut = setBookerAndItem(booking, userService.getUserById(booking.getBookerId()),
-                    itemService.getItemById(ownerId, booking.getItemId()));
-            addBookingsByState(booking, bookingDtoOuts, bookingDtoOut, state);
-        }
-        return bookingDtoOuts.stream()
-                .skip(from)
-                .limit(size)
-                .collect(Collectors.toList());
+        return setBookersAndItems(findOwnerBookingsByState(ownerId, state, LocalDateTime.now(), from, size));
     }
 
-    private void addBookingsByState(Booking booking, List<BookingDtoOut> bookingDtoOuts, BookingDtoOut bookingDtoOut, String state) {
+    private List<Booking> findBookerBookingsByState(long bookerId, String state, LocalDateTime nowTime,
+                                                    long from, long size) {
         switch (state) {
             case "ALL":
-                bookingDtoOuts.add(bookingDtoOut);
-                break;
+                return repository.findAllByBookerId(bookerId, from, size);
             case "CURRENT":
-                if (booking.getStart().isBefore(LocalDateTime.now()) && booking.getEnd().isAfter(LocalDateTime.now())) {
-                    bookingDtoOuts.add(bookingDtoOut);
-                }
-                break;
+                return repository.findCurrentByBookerId(bookerId, nowTime, from, size);
             case "PAST":
-                if (booking.getEnd().isBefore(LocalDateTime.now())) {
-                    bookingDtoOuts.add(bookingDtoOut);
-                }
-                break;
+                return repository.findPastByBookerId(bookerId, nowTime, from, size);
             case "FUTURE":
-                if (booking.getStart().isAfter(LocalDateTime.now())) {
-                    bookingDtoOuts.add(bookingDtoOut);
-                }
-                break;
+                return repository.findFutureByBookerId(bookerId, nowTime, from, size);
             case "WAITING":
-                if (booking.getStatus().equals(BookingStatus.WAITING)) {
-                    bookingDtoOuts.add(bookingDtoOut);
-                }
-                break;
             case "REJECTED":
-                if (booking.getStatus().equals(BookingStatus.REJECTED)) {
-                    bookingDtoOuts.add(bookingDtoOut);
-                }
-                break;
+                return repository.findAllByBookerIdAndStatus(bookerId, state, from, size);
             default:
                 log.error("Unknown state: {}", state);
                 throw new IncorrectParameterException("Unknown state: " + state);
         }
     }
 
+    private List<Booking> findOwnerBookingsByState(long ownerId, String state, LocalDateTime nowTime,
+                                                   long from, long size) {
+        switch (state) {
+            case "ALL":
+                return repository.findAllByOwnerId(ownerId, from, size);
+            case "CURRENT":
+                return repository.findCurrentByOwnerId(ownerId, nowTime, from, size);
+            case "PAST":
+                return repository.findPastByOwnerId(ownerId, nowTime, from, size);
+            case "FUTURE":
+                return repository.findFutureByOwnerId(ownerId, nowTime, from, size);
+            case "WAITING":
+            case "REJECTED":
+                return repository.findAllByOwnerIdAndStatus(ownerId, state, from, size);
+            default:
+                log.error("Unknown state: {}", state);
+                throw new IncorrectParameterException("Unknown state: " + state);
+        }
+    }
+
+    private List<BookingDtoOut> setBookersAndItems(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> bookerIds = new HashSet<>();
+        Set<Long> itemIds = new HashSet<>();
+        for (Booking booking : bookings) {
+            bookerIds.add(booking.getBookerId());
+            itemIds.add(booking.getItemId());
+        }
+        Map<Long, UserDto> bookers = userService.getUsersByIds(bookerIds).stream()
+                .collect(Collectors.toMap(UserDto::getId, Function.identity()));
+        Map<Long, ItemDto> items = ItemMapper.toListItemDto(itemRepository.findAllById(itemIds)).stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+        return bookings.stream()
+                .map(booking -> setBookerAndItem(booking, bookers.get(booking.getBookerId()),
+                        items.get(booking.getItemId())))
+                .collect(Collectors.toList());
+    }
+
     private BookingDtoOut setBookerAndItem(Booking booking, UserDto userDto, ItemDto itemDto) {
         BookingDtoOut bookingDtoOut = BookingMapper.toBookingDtoOut(booking);
         bookingDtoOut.setBooker(userDto);
@@ -164,21 +206,22 @@ public class BookingServiceImpl implements BookingService {
         return bookingDtoOut;
     }
 
+    private void bookingOverlapValid(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (repository.existsOverlappingBooking(itemId, BookingStatus.APPROVED, start, end)) {
+            log.error("Вещь с id {} уже забронирована на это время!", itemId);
+            throw new IncorrectParameterException("Вещь уже забронирована на это время!");
+        }
+    }
+
     private void userValid(long userId) {
-        if (!userService.getAllUsers().stream()
-                .map(UserDto::getId)
-                .collect(Collectors.toList())
-                .contains(userId)) {
+        if (!existenceIndex.exists(EntityType.USER, userId)) {
             log.error("Пользователя с id не существует! {}", userId);
             throw new NotFoundException("Пользователя с таким id не существует!");
         }
     }
 
     private void bookingValid(long id) {
-        if (!repository.findAll().stream()
-                .map(Booking::getId)
-                .collect(Collectors.toList())
-                .contains(id)) {
+        if (!existenceIndex.exists(EntityType.BOOKING, id)) {
             log.error("Бронирования с id не существует! {}", id);
             throw new NotFoundException("Бронирования с таким id не существует!");
         }
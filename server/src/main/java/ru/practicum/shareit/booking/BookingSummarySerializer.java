@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+public class BookingSummarySerializer extends StdSerializer<BookingSummary> {
+
+    public BookingSummarySerializer() {
+        super(BookingSummary.class);
+    }
+
+    @Override
+    public void serialize(BookingSummary booking, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("id", booking.getId());
+        gen.writeNumberField("bookerId", booking.getBookerId());
+        gen.writeEndObject();
+    }
+}
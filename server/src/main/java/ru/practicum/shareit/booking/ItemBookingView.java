@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking;
+
+public interface ItemBookingView extends BookingSummary {
+    String LAST = "LAST";
+    String NEXT = "NEXT";
+
+    Long getItemId();
+
+    String getKind();
+}
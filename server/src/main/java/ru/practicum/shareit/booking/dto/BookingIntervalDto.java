@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingIntervalDto {
+    LocalDateTime start;
+    LocalDateTime end;
+    BookingStatus status;
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.common;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BatchMapper {
+
+    public static <T> BatchDto<T> toBatchDto(Collection<Long> ids, Collection<T> values, ToLongFunction<T> idGetter) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T value : values) {
+            byId.put(idGetter.applyAsLong(value), value);
+        }
+        List<T> found = new ArrayList<>(byId.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            T value = byId.get(id);
+            if (value != null) {
+                found.add(value);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchDto<>(found, missing);
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.common;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.exceptions.IncorrectParameterException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CursorCodec {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String SEPARATOR = ",";
+
+    public static String encode(Object... values) {
+        String joined = Arrays.stream(values)
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int size) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw incorrectCursor(cursor);
+        }
+        String[] values = decoded.split(SEPARATOR, -1);
+        if (values.length != size) {
+            throw incorrectCursor(cursor);
+        }
+        return values;
+    }
+
+    public static long decodeId(String cursor) {
+        return decodeId(cursor, 0, 1);
+    }
+
+    public static long decodeId(String cursor, int index, int size) {
+        try {
+            return Long.parseLong(decode(cursor, size)[index]);
+        } catch (NumberFormatException e) {
+            throw incorrectCursor(cursor);
+        }
+    }
+
+    public static LocalDateTime decodeTime(String cursor, int index, int size) {
+        try {
+            return LocalDateTime.parse(decode(cursor, size)[index]);
+        } catch (DateTimeParseException e) {
+            throw incorrectCursor(cursor);
+        }
+    }
+
+    private static IncorrectParameterException incorrectCursor(String cursor) {
+        log.info("Неверный параметр cursor: {}", cursor);
+        return new IncorrectParameterException("Неверный параметр cursor: " + cursor);
+    }
+}
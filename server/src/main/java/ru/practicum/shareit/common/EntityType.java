@@ -0,0 +1,18 @@
+package ru.practicum.shareit.common;
+
+public enum EntityType {
+    USER("users"),
+    ITEM("items"),
+    BOOKING("bookings"),
+    REQUEST("requests");
+
+    private final String table;
+
+    EntityType(String table) {
+        this.table = table;
+    }
+
+    public String getTable() {
+        return table;
+    }
+}
@@ -0,0 +1,196 @@
+package ru.practicum.shareit.common;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+@Slf4j
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ExistenceIndex {
+    JdbcTemplate jdbcTemplate;
+    Map<EntityType, IdSet> sets = new EnumMap<>(EntityType.class);
+
+    public ExistenceIndex(JdbcTemplate jdbcTemplate, UserRepository userRepository, ItemRepository itemRepository,
+                          BookingRepository bookingRepository, ItemRequestRepository itemRequestRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        sets.put(EntityType.USER, new IdSet(userRepository::existsById));
+        sets.put(EntityType.ITEM, new IdSet(itemRepository::existsById));
+        sets.put(EntityType.BOOKING, new IdSet(bookingRepository::existsById));
+        sets.put(EntityType.REQUEST, new IdSet(itemRequestRepository::existsById));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        for (EntityType type : EntityType.values()) {
+            reload(type);
+        }
+    }
+
+    public boolean exists(EntityType type, long id) {
+        IdSet set = sets.get(type);
+        if (set.contains(id)) {
+            return true;
+        }
+        long removals = set.removals.get();
+        if (!set.existsById.test(id)) {
+            return false;
+        }
+        if (set.addIfNotRemoved(id, removals)) {
+            removeOnRollback(type, id);
+        }
+        return true;
+    }
+
+    public void add(EntityType type, long id) {
+        runAfterCommit(() -> sets.get(type).add(id));
+    }
+
+    public void remove(EntityType type, long id) {
+        IdSet set = sets.get(type);
+        set.remove(id);
+        runAfterCommit(() -> set.remove(id));
+    }
+
+    public void reloadAfterCommit(EntityType... types) {
+        runAfterCommit(() -> {
+            for (EntityType type : types) {
+                reload(type);
+            }
+        });
+    }
+
+    private void reload(EntityType type) {
+        IdSet set = sets.get(type);
+        long reload = set.reloads.incrementAndGet();
+        BitSet ids = new BitSet();
+        jdbcTemplate.query("select id from " + type.getTable(), rs -> {
+            long id = rs.getLong(1);
+            if (id >= 0 && id < Integer.MAX_VALUE) {
+                ids.set((int) id);
+            }
+        });
+        if (!set.replace(ids, reload)) {
+            log.info("Пропустили устаревшую загрузку индекса существования {}", type.getTable());
+            return;
+        }
+        log.info("Загрузили {} id в индекс существования {}", ids.cardinality(), type.getTable());
+    }
+
+    private void removeOnRollback(EntityType type, long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    sets.get(type).remove(id);
+                }
+            }
+        });
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class IdSet {
+        final LongPredicate existsById;
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        final AtomicLong removals = new AtomicLong();
+        final AtomicLong reloads = new AtomicLong();
+        BitSet ids = new BitSet();
+        long installedReload;
+
+        IdSet(LongPredicate existsById) {
+            this.existsById = existsById;
+        }
+
+        boolean contains(long id) {
+            if (id < 0 || id >= Integer.MAX_VALUE) {
+                return false;
+            }
+            lock.readLock().lock();
+            try {
+                return ids.get((int) id);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void add(long id) {
+            addIfNotRemoved(id, removals.get());
+        }
+
+        boolean addIfNotRemoved(long id, long expectedRemovals) {
+            if (id < 0 || id >= Integer.MAX_VALUE) {
+                return false;
+            }
+            lock.writeLock().lock();
+            try {
+                if (removals.get() != expectedRemovals) {
+                    return false;
+                }
+                ids.set((int) id);
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(long id) {
+            lock.writeLock().lock();
+            try {
+                removals.incrementAndGet();
+                if (id >= 0 && id < Integer.MAX_VALUE) {
+                    ids.clear((int) id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        boolean replace(BitSet loaded, long reload) {
+            lock.writeLock().lock();
+            try {
+                if (reload < installedReload) {
+                    return false;
+                }
+                installedReload = reload;
+                removals.incrementAndGet();
+                ids = loaded;
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
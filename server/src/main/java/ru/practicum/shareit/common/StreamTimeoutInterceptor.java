@@ -0,0 +1,29 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import javax.servlet.ServletRequest;
+import java.util.concurrent.Callable;
+
+public class StreamTimeoutInterceptor implements CallableProcessingInterceptor {
+    private final long timeout;
+
+    private StreamTimeoutInterceptor(long timeout) {
+        this.timeout = timeout;
+    }
+
+    public static void register(ServletRequest request, long timeout) {
+        WebAsyncUtils.getAsyncManager(request)
+                .registerCallableInterceptor(StreamTimeoutInterceptor.class.getName(), new StreamTimeoutInterceptor(timeout));
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        if (request instanceof AsyncWebRequest) {
+            ((AsyncWebRequest) request).setTimeout(timeout);
+        }
+    }
+}
@@ -15,6 +15,15 @@ public class CommentMapper {
         return commentDto;
     }
 
+    public static CommentDto toCommentDto(CommentWithAuthor comment) {
+        CommentDto commentDto = new CommentDto();
+        commentDto.setId(comment.getId());
+        commentDto.setText(comment.getText());
+        commentDto.setAuthorName(comment.getAuthorName());
+        commentDto.setCreated(comment.getCreated());
+        return commentDto;
+    }
+
     public static Comment toComment(CommentDto commentDto) {
         Comment comment = new Comment();
         comment.setText(commentDto.getText());
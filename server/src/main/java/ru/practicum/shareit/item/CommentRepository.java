@@ -1,7 +1,17 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @Query("select c.id as id, c.item as itemId, c.text as text, u.name as authorName, c.created as created " +
+            "from Comment as c " +
+            "join User as u on u.id = c.author " +
+            "where c.item in ?1 " +
+            "order by c.id")
+    List<CommentWithAuthor> findAllWithAuthorByItemIdIn(Collection<Long> itemIds);
 }
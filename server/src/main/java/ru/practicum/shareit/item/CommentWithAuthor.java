@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item;
+
+import java.time.LocalDateTime;
+
+public interface CommentWithAuthor {
+    Long getId();
+
+    Long getItemId();
+
+    String getText();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+}
@@ -0,0 +1,266 @@
+package ru.practicum.shareit.item;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ItemAutocompleteIndex {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final String[] NO_WORDS = new String[0];
+
+    JdbcTemplate jdbcTemplate;
+    int topSize;
+    Map<String, Integer> weights = new HashMap<>();
+    Node root = new Node("");
+    Comparator<String> byWeight;
+    ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemAutocompleteIndex(JdbcTemplate jdbcTemplate, @Value("${shareit.autocomplete.top-size:10}") int topSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.topSize = topSize;
+        this.byWeight = Comparator.comparingInt((String word) -> -weights.getOrDefault(word, 0))
+                .thenComparing(Comparator.naturalOrder());
+    }
+
+    public int getTopSize() {
+        return topSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            weights.clear();
+            root.keys = NO_KEYS;
+            root.children = NO_CHILDREN;
+            root.top = NO_WORDS;
+            jdbcTemplate.query("select name from items where available = true",
+                    rs -> {
+                        words(rs.getString(1)).forEach(word -> changeWeight(word, 1));
+                    });
+            log.info("Построили индекс подсказок по {} словам", weights.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Set<String> oldWords = Boolean.TRUE.equals(event.getOldAvailable()) ? words(event.getOldName()) : Set.of();
+        Set<String> newWords = Boolean.TRUE.equals(event.getAvailable()) ? words(event.getName()) : Set.of();
+        lock.writeLock().lock();
+        try {
+            for (String word : oldWords) {
+                if (!newWords.contains(word)) {
+                    changeWeight(word, -1);
+                }
+            }
+            for (String word : newWords) {
+                if (!oldWords.contains(word)) {
+                    changeWeight(word, 1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String normalized = prefix.trim().toLowerCase();
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int position = 0;
+            while (position < normalized.length()) {
+                node = node.child(normalized.charAt(position));
+                if (node == null) {
+                    return List.of();
+                }
+                int length = Math.min(node.label.length(), normalized.length() - position);
+                if (!node.label.regionMatches(0, normalized, position, length)) {
+                    return List.of();
+                }
+                position += length;
+            }
+            return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void changeWeight(String word, int delta) {
+        int weight = weights.getOrDefault(word, 0) + delta;
+        if (weight > 0) {
+            weights.put(word, weight);
+        } else {
+            weights.remove(word);
+        }
+        List<Node> path = weight > 0 ? insert(word) : find(word);
+        if (path.isEmpty()) {
+            return;
+        }
+        Node terminal = path.get(path.size() - 1);
+        terminal.terminal = weight > 0;
+        terminal.word = weight > 0 ? word : null;
+        for (int i = path.size() - 1; i > 0; i--) {
+            prune(path.get(i - 1), path.get(i));
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).top = top(path.get(i));
+        }
+    }
+
+    private List<Node> insert(String word) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+        while (position < word.length()) {
+            Node child = node.child(word.charAt(position));
+            if (child == null) {
+                child = new Node(word.substring(position));
+                node.addChild(child);
+                path.add(child);
+                return path;
+            }
+            int common = 0;
+            while (common < child.label.length() && position + common < word.length()
+                    && child.label.charAt(common) == word.charAt(position + common)) {
+                common++;
+            }
+            if (common < child.label.length()) {
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.addChild(child);
+                middle.top = child.top;
+                node.replaceChild(middle);
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            position += common;
+        }
+        return path;
+    }
+
+    private List<Node> find(String word) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+        while (position < word.length()) {
+            node = node.child(word.charAt(position));
+            if (node == null || !word.startsWith(node.label, position)) {
+                return List.of();
+            }
+            path.add(node);
+            position += node.label.length();
+        }
+        return path;
+    }
+
+    private void prune(Node parent, Node node) {
+        if (node.terminal || parent.child(node.label.charAt(0)) != node) {
+            return;
+        }
+        if (node.children.length == 0) {
+            parent.removeChild(node);
+        } else if (node.children.length == 1) {
+            Node child = node.children[0];
+            child.label = node.label + child.label;
+            parent.replaceChild(child);
+        }
+    }
+
+    private String[] top(Node node) {
+        Set<String> candidates = new HashSet<>();
+        if (node.terminal) {
+            candidates.add(node.word);
+        }
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        return candidates.stream()
+                .sorted(byWeight)
+                .limit(topSize)
+                .toArray(String[]::new);
+    }
+
+    private static Set<String> words(String text) {
+        Set<String> words = new HashSet<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static final class Node {
+        String label;
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        String[] top = NO_WORDS;
+        boolean terminal;
+        String word;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index < 0 ? null : children[index];
+        }
+
+        void addChild(Node child) {
+            int index = -Arrays.binarySearch(keys, child.label.charAt(0)) - 1;
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(keys, index, keys, index + 1, keys.length - index - 1);
+            System.arraycopy(children, index, children, index + 1, children.length - index - 1);
+            keys[index] = child.label.charAt(0);
+            children[index] = child;
+        }
+
+        void replaceChild(Node child) {
+            children[Arrays.binarySearch(keys, child.label.charAt(0))] = child;
+        }
+
+        void removeChild(Node child) {
+            int index = Arrays.binarySearch(keys, child.label.charAt(0));
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+    }
+}
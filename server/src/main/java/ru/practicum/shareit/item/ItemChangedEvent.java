@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.item.model.Item;
+
+@Getter
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ItemChangedEvent {
+    long id;
+    Long userId;
+    String oldName;
+    String oldDescription;
+    Boolean oldAvailable;
+    String name;
+    String description;
+    Boolean available;
+
+    public ItemChangedEvent(Item oldItem, Item item) {
+        Item current = item == null ? oldItem : item;
+        this.id = current.getId();
+        this.userId = current.getUserId();
+        this.oldName = oldItem == null ? null : oldItem.getName();
+        this.oldDescription = oldItem == null ? null : oldItem.getDescription();
+        this.oldAvailable = oldItem == null ? null : oldItem.getAvailable();
+        this.name = item == null ? null : item.getName();
+        this.description = item == null ? null : item.getDescription();
+        this.available = item == null ? null : item.getAvailable();
+    }
+}
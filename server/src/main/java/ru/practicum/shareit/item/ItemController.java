@@ -2,11 +2,18 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.BatchDto;
+import ru.practicum.shareit.common.CursorCodec;
 import ru.practicum.shareit.exceptions.IncorrectParameterException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -17,9 +24,10 @@ public class ItemController {
     private final ItemService itemService;
 
     @GetMapping
-    public List<ItemDto> getAllItems(@RequestHeader("X-Sharer-User-Id") long userId,
-                                     @RequestParam(value = "from", defaultValue = "0") long from,
-                                     @RequestParam(value = "size", defaultValue = "10") long size) {
+    public ResponseEntity<List<ItemDto>> getAllItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                     @RequestParam(value = "from", defaultValue = "0") long from,
+                                                     @RequestParam(value = "size", defaultValue = "10") long size,
+                                                     @RequestParam(value = "cursor", required = false) String cursor) {
         if (from < 0) {
             log.info("Неверный параметр from: {}, from должен быть больше 0 ", from);
             throw new IncorrectParameterException("Неверный параметр from: {}, from должен быть больше 0 " + from);
@@ -29,7 +37,22 @@ public class ItemController {
             throw new IncorrectParameterException("Неверный параметр size: {}, size должен быть больше 0 " + size);
         }
         log.info("Получили все вещи");
-        return itemService.getAllItems(userId, from, size);
+        List<ItemDto> items = cursor == null
+                ? itemService.getAllItems(userId, from, size)
+                : itemService.getAllItemsAfter(userId, CursorCodec.decodeId(cursor), size);
+        if (items.size() < size) {
+            return ResponseEntity.ok(items);
+        }
+        return ResponseEntity.ok()
+                .header(CursorCodec.NEXT_CURSOR_HEADER, CursorCodec.encode(items.get(items.size() - 1).getId()))
+                .body(items);
+    }
+
+    @GetMapping("/batch")
+    public BatchDto<ItemDto> getItemsBatch(@RequestHeader("X-Sharer-User-Id") long userId,
+                                           @RequestParam("ids") List<Long> ids) {
+        log.info("Получили вещи с id {}", ids);
+        return itemService.getItemsBatch(userId, ids);
     }
 
     @GetMapping("/{id}")
@@ -39,9 +62,32 @@ public class ItemController {
         return itemService.getItemById(userId, id);
     }
 
+    @GetMapping("/{id}/availability")
+    public ItemAvailabilityDto getItemAvailability(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @PathVariable("id") long id,
+                                                   @RequestParam(value = "from")
+                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                   @RequestParam(value = "to")
+                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Получили занятость вещи id {} с {} по {}", id, from, to);
+        return itemService.getItemAvailability(userId, id, from, to);
+    }
+
+    @GetMapping("/{id}/matching-requests")
+    public List<ItemRequestDtoOut> getMatchingRequests(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                       @PathVariable("id") long id) {
+        log.info("Получили запросы, подходящие вещи id {}", id);
+        return itemService.getMatchingRequests(userId, id);
+    }
+
     @GetMapping("/search")
     public List<ItemDto> searchItems(@RequestHeader("X-Sharer-User-Id") long userId,
                                      @RequestParam(value = "text") String text,
+                                     @RequestParam(value = "start", required = false)
+                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                     @RequestParam(value = "end", required = false)
+                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                     @RequestParam(value = "ranked", defaultValue = "false") boolean ranked,
                                      @RequestParam(value = "from", defaultValue = "0") long from,
                                      @RequestParam(value = "size", defaultValue = "10") long size) {
         if (from < 0) {
@@ -53,7 +99,22 @@ public class ItemController {
             throw new IncorrectParameterException("Неверный параметр size: {}, size должен быть больше 0 " + size);
         }
         log.info("Нашли указанные вещи");
-        return itemService.searchItems(userId, text, from, size);
+        if (ranked) {
+            return itemService.searchItemsRanked(userId, text, start, end, from, size);
+        }
+        return itemService.searchItems(userId, text, start, end, from, size);
+    }
+
+    @GetMapping("/autocomplete")
+    public List<String> getAutocomplete(@RequestHeader("X-Sharer-User-Id") long userId,
+                                        @RequestParam(value = "prefix") String prefix,
+                                        @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if (limit <= 0) {
+            log.info("Неверный параметр limit: {}, limit должен быть больше 0 ", limit);
+            throw new IncorrectParameterException("Неверный параметр limit: {}, limit должен быть больше 0 " + limit);
+        }
+        log.info("Получили подсказки для префикса {}", prefix);
+        return itemService.getAutocomplete(userId, prefix, limit);
     }
 
     @PostMapping
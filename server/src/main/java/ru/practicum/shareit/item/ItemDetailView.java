@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item;
+
+public interface ItemDetailView {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getRequestId();
+
+    Long getLastBookingId();
+
+    Long getLastBookerId();
+
+    Long getNextBookingId();
+
+    Long getNextBookerId();
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
@@ -21,6 +22,22 @@ public final class ItemMapper {
         return itemDto;
     }
 
+    public static ItemDto toItemDto(ItemDetailView item) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(item.getId());
+        itemDto.setName(item.getName());
+        itemDto.setDescription(item.getDescription());
+        itemDto.setAvailable(item.getAvailable());
+        itemDto.setRequestId(item.getRequestId());
+        if (item.getLastBookingId() != null) {
+            itemDto.setLastBooking(new BookingSummaryDto(item.getLastBookingId(), item.getLastBookerId()));
+        }
+        if (item.getNextBookingId() != null) {
+            itemDto.setNextBooking(new BookingSummaryDto(item.getNextBookingId(), item.getNextBookerId()));
+        }
+        return itemDto;
+    }
+
     public static Item toItem(long userId, ItemDto itemDto) {
         Item item = new Item();
         item.setUserId(userId);
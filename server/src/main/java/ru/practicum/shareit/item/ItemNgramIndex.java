@@ -0,0 +1,305 @@
+package ru.practicum.shareit.item;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ItemNgramIndex {
+    private static final int GRAM = 3;
+    private static final int LEAF_SIZE = 10_000;
+    private static final int[] EMPTY = new int[0];
+
+    JdbcTemplate jdbcTemplate;
+    boolean enabled;
+    Map<Long, Postings> postings = new HashMap<>();
+    List<ItemChangedEvent> pending = new ArrayList<>();
+    AtomicBoolean rebuilding = new AtomicBoolean();
+    AtomicBoolean ready = new AtomicBoolean();
+    AtomicBoolean overflow = new AtomicBoolean();
+    ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemNgramIndex(JdbcTemplate jdbcTemplate, @Value("${shareit.search.mode:substring}") ItemSearchMode mode) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = mode == ItemSearchMode.NGRAM;
+    }
+
+    public static boolean isIndexable(String text) {
+        return text.toLowerCase().length() >= GRAM;
+    }
+
+    public boolean isReady() {
+        return ready.get() && !overflow.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuilding.set(true);
+        List<Long> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<String> descriptions = new ArrayList<>();
+        jdbcTemplate.query("select id, name, description from items order by id", rs -> {
+            ids.add(rs.getLong(1));
+            names.add(rs.getString(2));
+            descriptions.add(rs.getString(3));
+        });
+        long started = System.nanoTime();
+        rebuild(ids.stream().mapToLong(Long::longValue).toArray(), names.toArray(new String[0]),
+                descriptions.toArray(new String[0]));
+        log.info("Построили n-граммный индекс по {} вещам за {} мс", ids.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public void rebuild(long[] ids, String[] names, String[] descriptions) {
+        rebuilding.set(true);
+        for (long id : ids) {
+            checkRange(id);
+        }
+        Map<Long, Postings> built = ForkJoinPool.commonPool().invoke(new BuildTask(ids, names, descriptions, 0,
+                ids.length));
+        built.values().forEach(Postings::compact);
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            postings.putAll(built);
+            pending.forEach(this::apply);
+            pending.clear();
+            rebuilding.set(false);
+            ready.set(true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (rebuilding.get()) {
+                pending.add(event);
+            } else {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int[] findCandidates(String text) {
+        long[] keys = trigrams(text);
+        if (keys.length == 0) {
+            return EMPTY;
+        }
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                lists[i] = postings.get(keys[i]);
+                if (lists[i] == null) {
+                    return EMPTY;
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+            int[] candidates = Arrays.copyOf(lists[0].ids, lists[0].size);
+            int count = candidates.length;
+            for (int i = 1; i < lists.length && count > 0; i++) {
+                count = lists[i].retainAll(candidates, count);
+            }
+            return Arrays.copyOf(candidates, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(ItemChangedEvent event) {
+        if (!checkRange(event.getId())) {
+            return;
+        }
+        int id = (int) event.getId();
+        if (event.getOldName() != null) {
+            for (long key : trigrams(event.getOldName(), event.getOldDescription())) {
+                Postings list = postings.get(key);
+                if (list != null && list.remove(id) && list.size == 0) {
+                    postings.remove(key);
+                }
+            }
+        }
+        if (event.getName() == null) {
+            return;
+        }
+        for (long key : trigrams(event.getName(), event.getDescription())) {
+            postings.computeIfAbsent(key, k -> new Postings()).add(id);
+        }
+    }
+
+    private boolean checkRange(long id) {
+        if (isInRange(id)) {
+            return true;
+        }
+        if (!overflow.getAndSet(true)) {
+            log.warn("Вещь с id {} не помещается в n-граммный индекс, поиск переключен на SQL", id);
+        }
+        return false;
+    }
+
+    private static boolean isInRange(long id) {
+        return id >= 0 && id <= Integer.MAX_VALUE;
+    }
+
+    private static long[] trigrams(String... texts) {
+        String[] lowers = new String[texts.length];
+        int length = 0;
+        for (int i = 0; i < texts.length; i++) {
+            lowers[i] = texts[i] == null ? "" : texts[i].toLowerCase();
+            length += Math.max(lowers[i].length() - GRAM + 1, 0);
+        }
+        long[] keys = new long[length];
+        int count = 0;
+        for (String lower : lowers) {
+            for (int i = 0; i + GRAM <= lower.length(); i++) {
+                keys[count++] = (long) lower.charAt(i) << 32 | (long) lower.charAt(i + 1) << 16 | lower.charAt(i + 2);
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || keys[unique - 1] != keys[i]) {
+                keys[unique++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, unique);
+    }
+
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void append(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(size * 2, 4));
+            }
+            ids[size++] = id;
+        }
+
+        void appendAll(Postings other) {
+            if (size + other.size > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.ids, 0, ids, size, other.size);
+            size += other.size;
+        }
+
+        void add(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(size * 2, 4));
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        int retainAll(int[] candidates, int count) {
+            int retained = 0;
+            int from = 0;
+            for (int i = 0; i < count && from < size; i++) {
+                int index = Arrays.binarySearch(ids, from, size, candidates[i]);
+                if (index >= 0) {
+                    candidates[retained++] = candidates[i];
+                    from = index + 1;
+                } else {
+                    from = -index - 1;
+                }
+            }
+            return retained;
+        }
+
+        void compact() {
+            Arrays.sort(ids, 0, size);
+            ids = Arrays.copyOf(ids, size);
+        }
+    }
+
+    private static final class BuildTask extends RecursiveTask<Map<Long, Postings>> {
+        private final long[] ids;
+        private final String[] names;
+        private final String[] descriptions;
+        private final int from;
+        private final int to;
+
+        BuildTask(long[] ids, String[] names, String[] descriptions, int from, int to) {
+            this.ids = ids;
+            this.names = names;
+            this.descriptions = descriptions;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Long, Postings> compute() {
+            if (to - from <= LEAF_SIZE) {
+                Map<Long, Postings> built = new HashMap<>();
+                for (int i = from; i < to; i++) {
+                    if (!isInRange(ids[i])) {
+                        continue;
+                    }
+                    int id = (int) ids[i];
+                    for (long key : trigrams(names[i], descriptions[i])) {
+                        built.computeIfAbsent(key, k -> new Postings()).append(id);
+                    }
+                }
+                return built;
+            }
+            int middle = (from + to) >>> 1;
+            BuildTask left = new BuildTask(ids, names, descriptions, from, middle);
+            left.fork();
+            Map<Long, Postings> right = new BuildTask(ids, names, descriptions, middle, to).compute();
+            Map<Long, Postings> built = left.join();
+            right.forEach((key, list) -> built.merge(key, list, (first, second) -> {
+                first.appendAll(second);
+                return first;
+            }));
+            return built;
+        }
+    }
+}
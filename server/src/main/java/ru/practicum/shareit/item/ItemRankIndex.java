@@ -0,0 +1,395 @@
+package ru.practicum.shareit.item;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+@Slf4j
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ItemRankIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double NAME_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final int MAX_EDIT_DISTANCE = 2;
+    private static final int MIN_TYPO_LENGTH = 4;
+    private static final int MIN_TWO_TYPOS_LENGTH = 8;
+    private static final int MIN_DELETE_LENGTH = 2;
+    private static final Comparator<ScoredItem> WORST_FIRST = Comparator.comparingDouble((ScoredItem item) -> item.score)
+            .thenComparingInt(item -> -item.id);
+
+    JdbcTemplate jdbcTemplate;
+    Map<String, TermPostings> terms = new HashMap<>();
+    Map<String, List<String>> deletes = new HashMap<>();
+    Map<Integer, Document> documents = new HashMap<>();
+    long[] totalLengths = new long[2];
+    ReadWriteLock lock = new ReentrantReadWriteLock();
+    AtomicBoolean overflow = new AtomicBoolean();
+
+    public ItemRankIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isReady() {
+        return !overflow.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            deletes.clear();
+            documents.clear();
+            Arrays.fill(totalLengths, 0);
+            jdbcTemplate.query("select id, name, description, available from items", rs -> {
+                long id = rs.getLong(1);
+                if (checkRange(id)) {
+                    add((int) id, rs.getString(2), rs.getString(3), rs.getBoolean(4));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Построили индекс ранжированного поиска по {} вещам за {} мс", documents.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (!checkRange(event.getId())) {
+            return;
+        }
+        int id = (int) event.getId();
+        lock.writeLock().lock();
+        try {
+            if (event.getOldName() != null) {
+                remove(id, event.getOldName(), event.getOldDescription());
+            }
+            if (event.getName() != null) {
+                add(id, event.getName(), event.getDescription(), Boolean.TRUE.equals(event.getAvailable()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int[] findMatches(String text) {
+        lock.readLock().lock();
+        try {
+            Set<Integer> matches = new HashSet<>();
+            for (TermPostings postings : resolveQuery(text).keySet()) {
+                for (int i = 0; i < postings.size; i++) {
+                    if (documents.get(postings.docs[i]).available) {
+                        matches.add(postings.docs[i]);
+                    }
+                }
+            }
+            return matches.stream().mapToInt(Integer::intValue).sorted().toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> search(String text, int limit, IntPredicate filter) {
+        lock.readLock().lock();
+        try {
+            Map<TermPostings, Double> query = resolveQuery(text);
+            if (query.isEmpty() || limit <= 0) {
+                return List.of();
+            }
+            TermPostings[] postings = query.keySet().toArray(new TermPostings[0]);
+            double[] weights = new double[postings.length];
+            for (int i = 0; i < postings.length; i++) {
+                weights[i] = query.get(postings[i]) * idf(postings[i].size);
+            }
+            double averageNameLength = Math.max(1.0, (double) totalLengths[0] / documents.size());
+            double averageDescriptionLength = Math.max(1.0, (double) totalLengths[1] / documents.size());
+            PriorityQueue<ScoredItem> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+            int[] positions = new int[postings.length];
+            while (true) {
+                int id = Integer.MAX_VALUE;
+                for (int i = 0; i < postings.length; i++) {
+                    if (positions[i] < postings[i].size) {
+                        id = Math.min(id, postings[i].docs[positions[i]]);
+                    }
+                }
+                if (id == Integer.MAX_VALUE) {
+                    break;
+                }
+                Document document = documents.get(id);
+                double score = 0;
+                for (int i = 0; i < postings.length; i++) {
+                    int position = positions[i];
+                    if (position < postings[i].size && postings[i].docs[position] == id) {
+                        double frequency = NAME_WEIGHT * postings[i].nameFrequencies[position]
+                                / (1 - B + B * document.nameLength / averageNameLength)
+                                + DESCRIPTION_WEIGHT * postings[i].descriptionFrequencies[position]
+                                / (1 - B + B * document.descriptionLength / averageDescriptionLength);
+                        score += weights[i] * frequency * (K1 + 1) / (frequency + K1);
+                        positions[i]++;
+                    }
+                }
+                if (!document.available || !filter.test(id)) {
+                    continue;
+                }
+                ScoredItem item = new ScoredItem(id, score);
+                if (top.size() < limit) {
+                    top.add(item);
+                } else if (WORST_FIRST.compare(item, top.peek()) > 0) {
+                    top.poll();
+                    top.add(item);
+                }
+            }
+            Long[] ids = new Long[top.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = (long) top.poll().id;
+            }
+            return Arrays.asList(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean checkRange(long id) {
+        if (id >= 0 && id < Integer.MAX_VALUE) {
+            return true;
+        }
+        if (!overflow.getAndSet(true)) {
+            log.warn("Вещь с id {} не помещается в индекс ранжированного поиска, поиск переключен на SQL", id);
+        }
+        return false;
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private Map<TermPostings, Double> resolveQuery(String text) {
+        Map<TermPostings, Double> query = new LinkedHashMap<>();
+        for (String token : tokenize(text)) {
+            TermPostings postings = terms.get(token);
+            if (postings != null) {
+                query.merge(postings, 1.0, Math::max);
+                continue;
+            }
+            String correction = correct(token);
+            if (correction != null) {
+                query.merge(terms.get(correction), 1.0 / (1 + distance(token, correction)), Math::max);
+            }
+        }
+        return query;
+    }
+
+    private String correct(String token) {
+        if (token.length() < MIN_TYPO_LENGTH) {
+            return null;
+        }
+        int maxDistance = token.length() >= MIN_TWO_TYPOS_LENGTH ? MAX_EDIT_DISTANCE : 1;
+        String best = null;
+        int bestDistance = maxDistance + 1;
+        for (String delete : deletes(token, maxDistance)) {
+            for (String term : deletes.getOrDefault(delete, List.of())) {
+                TermPostings postings = terms.get(term);
+                if (postings == null) {
+                    continue;
+                }
+                int distance = distance(token, term);
+                if (distance < bestDistance
+                        || distance == bestDistance && best != null && postings.size > terms.get(best).size) {
+                    best = term;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best;
+    }
+
+    private void add(int id, String name, String description, boolean available) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        List<String> nameTokens = tokenize(name);
+        List<String> descriptionTokens = tokenize(description);
+        nameTokens.forEach(token -> frequencies.computeIfAbsent(token, t -> new int[2])[0]++);
+        descriptionTokens.forEach(token -> frequencies.computeIfAbsent(token, t -> new int[2])[1]++);
+        frequencies.forEach((term, counts) -> terms.computeIfAbsent(term, this::newTerm).put(id, counts[0], counts[1]));
+        documents.put(id, new Document(nameTokens.size(), descriptionTokens.size(), available));
+        totalLengths[0] += nameTokens.size();
+        totalLengths[1] += descriptionTokens.size();
+    }
+
+    private void remove(int id, String name, String description) {
+        Set<String> tokens = new HashSet<>(tokenize(name));
+        tokens.addAll(tokenize(description));
+        for (String token : tokens) {
+            TermPostings postings = terms.get(token);
+            if (postings != null && postings.remove(id) && postings.size == 0) {
+                removeTerm(token);
+            }
+        }
+        Document document = documents.remove(id);
+        if (document != null) {
+            totalLengths[0] -= document.nameLength;
+            totalLengths[1] -= document.descriptionLength;
+        }
+    }
+
+    private TermPostings newTerm(String term) {
+        for (String delete : deletes(term, MAX_EDIT_DISTANCE)) {
+            List<String> termsForDelete = deletes.computeIfAbsent(delete, d -> new ArrayList<>(1));
+            if (!termsForDelete.contains(term)) {
+                termsForDelete.add(term);
+            }
+        }
+        return new TermPostings();
+    }
+
+    private void removeTerm(String term) {
+        terms.remove(term);
+        for (String delete : deletes(term, MAX_EDIT_DISTANCE)) {
+            List<String> termsForDelete = deletes.get(delete);
+            if (termsForDelete != null && termsForDelete.remove(term) && termsForDelete.isEmpty()) {
+                deletes.remove(delete);
+            }
+        }
+    }
+
+    private static Set<String> deletes(String term, int maxDistance) {
+        Set<String> result = new HashSet<>();
+        result.add(term);
+        List<String> current = List.of(term);
+        for (int distance = 1; distance <= maxDistance; distance++) {
+            List<String> next = new ArrayList<>();
+            for (String word : current) {
+                if (word.length() <= MIN_DELETE_LENGTH) {
+                    continue;
+                }
+                for (int i = 0; i < word.length(); i++) {
+                    String delete = word.substring(0, i) + word.substring(i + 1);
+                    if (result.add(delete)) {
+                        next.add(delete);
+                    }
+                }
+            }
+            current = next;
+        }
+        return result;
+    }
+
+    private static int distance(String first, String second) {
+        int[][] distances = new int[first.length() + 1][second.length() + 1];
+        for (int i = 0; i <= first.length(); i++) {
+            distances[i][0] = i;
+        }
+        for (int j = 0; j <= second.length(); j++) {
+            distances[0][j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            for (int j = 1; j <= second.length(); j++) {
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                distances[i][j] = Math.min(Math.min(distances[i - 1][j] + 1, distances[i][j - 1] + 1),
+                        distances[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && first.charAt(i - 1) == second.charAt(j - 2)
+                        && first.charAt(i - 2) == second.charAt(j - 1)) {
+                    distances[i][j] = Math.min(distances[i][j], distances[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return distances[first.length()][second.length()];
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Document {
+        final int nameLength;
+        final int descriptionLength;
+        final boolean available;
+
+        Document(int nameLength, int descriptionLength, boolean available) {
+            this.nameLength = nameLength;
+            this.descriptionLength = descriptionLength;
+            this.available = available;
+        }
+    }
+
+    private static final class ScoredItem {
+        final int id;
+        final double score;
+
+        ScoredItem(int id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    private static final class TermPostings {
+        int[] docs = new int[2];
+        int[] nameFrequencies = new int[2];
+        int[] descriptionFrequencies = new int[2];
+        int size;
+
+        void put(int id, int nameFrequency, int descriptionFrequency) {
+            int index = Arrays.binarySearch(docs, 0, size, id);
+            if (index < 0) {
+                index = -index - 1;
+                if (size == docs.length) {
+                    int capacity = Math.max(size * 2, 2);
+                    docs = Arrays.copyOf(docs, capacity);
+                    nameFrequencies = Arrays.copyOf(nameFrequencies, capacity);
+                    descriptionFrequencies = Arrays.copyOf(descriptionFrequencies, capacity);
+                }
+                System.arraycopy(docs, index, docs, index + 1, size - index);
+                System.arraycopy(nameFrequencies, index, nameFrequencies, index + 1, size - index);
+                System.arraycopy(descriptionFrequencies, index, descriptionFrequencies, index + 1, size - index);
+                docs[index] = id;
+                size++;
+            }
+            nameFrequencies[index] = nameFrequency;
+            descriptionFrequencies[index] = descriptionFrequency;
+        }
+
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(docs, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+            System.arraycopy(nameFrequencies, index + 1, nameFrequencies, index, size - index - 1);
+            System.arraycopy(descriptionFrequencies, index + 1, descriptionFrequencies, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -1,11 +1,53 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
     List<Item> findByUserId(long userId);
 
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
+    @Query(value = "select * " +
+            "from items as i " +
+            "where i.user_id = ?1 " +
+            "order by i.id " +
+            "limit ?3 offset ?2", nativeQuery = true)
+    List<Item> findPageByUserId(long userId, long from, long size);
+
+    @Query(value = "select * " +
+            "from items as i " +
+            "where i.user_id = ?1 and i.id > ?2 " +
+            "order by i.id " +
+            "limit ?3", nativeQuery = true)
+    List<Item> findPageByUserIdAfter(long userId, long afterId, long size);
+
+    @Query(value = "select i.id as \"id\", i.name as \"name\", i.description as \"description\", " +
+            "i.available as \"available\", i.request_id as \"requestId\", " +
+            "l.id as \"lastBookingId\", l.booker_id as \"lastBookerId\", " +
+            "n.id as \"nextBookingId\", n.booker_id as \"nextBookerId\" " +
+            "from items as i " +
+            "left join (select b.id, b.booker_id, " +
+            "row_number() over (order by b.end_time desc, b.id desc) as booking_rank " +
+            "from bookings as b " +
+            "where b.item_id = ?1 and b.end_time < ?3) as l on i.user_id = ?2 and l.booking_rank = 1 " +
+            "left join (select b.id, b.booker_id, " +
+            "row_number() over (order by b.start_time, b.id) as booking_rank " +
+            "from bookings as b " +
+            "where b.item_id = ?1 and b.start_time > ?3) as n on i.user_id = ?2 and n.booking_rank = 1 " +
+            "where i.id = ?1", nativeQuery = true)
+    Optional<ItemDetailView> findDetailById(long id, long userId, LocalDateTime nowTime);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item as i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(long id);
+
 }
\ No newline at end of file
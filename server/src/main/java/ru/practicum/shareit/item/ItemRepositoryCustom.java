@@ -1,9 +1,7 @@
 package ru.practicum.shareit.item;
 
-import ru.practicum.shareit.item.model.Item;
-
 import java.util.List;
 
 public interface ItemRepositoryCustom {
-    List<Item> searchItems(String text);
-}
\ No newline at end of file
+    List<Long> searchItemIds(String text);
+}
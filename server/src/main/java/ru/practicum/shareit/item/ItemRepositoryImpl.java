@@ -2,43 +2,119 @@ package ru.practicum.shareit.item;
 
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
-import org.springframework.context.annotation.Lazy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class ItemRepositoryImpl implements ItemRepositoryCustom {
+    private static final String SUBSTRING_QUERY = "select i.id from items as i where i.available = true " +
+            "and (lower(i.name) like ?1 escape '\\' or lower(i.description) like ?1 escape '\\') " +
+            "order by i.id";
+    private static final String POSTGRES_FULL_TEXT_QUERY = "select i.id from items as i where i.available = true " +
+            "and i.search_vector @@ to_tsquery('simple', ?1) " +
+            "order by i.id";
+    private static final String H2_FULL_TEXT_QUERY = "select i.id from ft_search_data(?1, 0, 0) as ft " +
+            "join items as i on i.id = cast(ft.keys[1] as bigint) " +
+            "where ft.\"TABLE\" = 'ITEMS' and i.available = true " +
+            "order by i.id";
+    private static final String CANDIDATE_IDS_QUERY = "select i.id from Item as i where i.id in ?1 " +
+            "and i.available = true " +
+            "and (lower(i.name) like ?2 escape '\\' or lower(i.description) like ?2 escape '\\') " +
+            "order by i.id";
+    private static final int CANDIDATES_BATCH_SIZE = 500;
 
-    ItemRepository repository;
-    List<String> searchHistory = new ArrayList<>();
+    EntityManager em;
+    ObjectProvider<ItemNgramIndex> ngramIndex;
+    ItemSearchMode mode;
+    boolean postgres;
 
-    public ItemRepositoryImpl(@Lazy ItemRepository repository) {
-        this.repository = repository;
+    public ItemRepositoryImpl(EntityManager em, DataSource dataSource, ObjectProvider<ItemNgramIndex> ngramIndex,
+                              @Value("${shareit.search.mode:substring}") ItemSearchMode mode) {
+        this.em = em;
+        this.ngramIndex = ngramIndex;
+        this.mode = mode;
+        this.postgres = mode == ItemSearchMode.FULL_TEXT && isPostgres(dataSource);
     }
 
     @Override
-    public List<Item> searchItems(String text) {
-        List<Item> itemsSearched = new ArrayList<>();
+    @SuppressWarnings("unchecked")
+    public List<Long> searchItemIds(String text) {
         if (text.isBlank()) {
-            for (Item item : repository.findAll()) {
-                if (item.getName().toLowerCase().contains(searchHistory.get(searchHistory.size() - 1).toLowerCase()) && item.getAvailable().equals(true) ||
-                        item.getDescription().toLowerCase().contains(searchHistory.get(searchHistory.size() - 1).toLowerCase()) && item.getAvailable().equals(true)) {
-                    return itemsSearched;
-                }
-            }
-        } else {
-            for (Item item : repository.findAll()) {
-                if (item.getName().toLowerCase().contains(text.toLowerCase()) && item.getAvailable().equals(true) ||
-                        item.getDescription().toLowerCase().contains(text.toLowerCase()) && item.getAvailable().equals(true)) {
-                    itemsSearched.add(item);
-                    searchHistory.add(text);
-                }
+            return List.of();
+        }
+        ItemNgramIndex index = mode == ItemSearchMode.NGRAM ? ngramIndex.getIfAvailable() : null;
+        if (index != null && index.isReady() && ItemNgramIndex.isIndexable(text)) {
+            return searchIdsByNgrams(index, text.toLowerCase());
+        }
+        Query query = createSearchQuery(text);
+        if (query == null) {
+            return List.of();
+        }
+        return ((List<Number>) query.getResultList()).stream()
+                .map(Number::longValue)
+                .collect(Collectors.toList());
+    }
+
+    private Query createSearchQuery(String text) {
+        if (mode == ItemSearchMode.FULL_TEXT) {
+            List<String> words = Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                    .filter(word -> !word.isEmpty())
+                    .collect(Collectors.toList());
+            if (words.isEmpty()) {
+                return null;
             }
+            return postgres
+                    ? em.createNativeQuery(POSTGRES_FULL_TEXT_QUERY)
+                    .setParameter(1, words.stream().map(word -> word + ":*").collect(Collectors.joining(" & ")))
+                    : em.createNativeQuery(H2_FULL_TEXT_QUERY)
+                    .setParameter(1, String.join(" ", words));
+        }
+        return em.createNativeQuery(SUBSTRING_QUERY)
+                .setParameter(1, "%" + escapeLike(text.toLowerCase()) + "%");
+    }
+
+    private List<Long> searchIdsByNgrams(ItemNgramIndex index, String text) {
+        int[] candidates = index.findCandidates(text);
+        String pattern = "%" + escapeLike(text) + "%";
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < candidates.length; i += CANDIDATES_BATCH_SIZE) {
+            List<Long> batch = Arrays.stream(candidates, i, Math.min(i + CANDIDATES_BATCH_SIZE, candidates.length))
+                    .asLongStream()
+                    .boxed()
+                    .collect(Collectors.toList());
+            ids.addAll(em.createQuery(CANDIDATE_IDS_QUERY, Long.class)
+                    .setParameter(1, batch)
+                    .setParameter(2, pattern)
+                    .getResultList());
+        }
+        return ids;
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            return "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(dataSource,
+                    DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Не удалось определить тип базы данных", e);
         }
-        return itemsSearched;
     }
 }
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ItemSearchCache {
+    ItemRepository repository;
+    Cache<String, List<Long>> results;
+    AtomicLong version = new AtomicLong();
+
+    public ItemSearchCache(ItemRepository repository, MeterRegistry meterRegistry,
+                           @Value("${shareit.search-cache.maximum-weight:1000000}") long maximumWeight) {
+        this.repository = repository;
+        this.results = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((String text, List<Long> ids) -> 1 + ids.size())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "itemSearch");
+    }
+
+    public List<Long> getIds(String text) {
+        if (text.isBlank()) {
+            return List.of();
+        }
+        String key = text.toLowerCase();
+        List<Long> ids = results.getIfPresent(key);
+        if (ids != null) {
+            return ids;
+        }
+        long loadedVersion = version.get();
+        ids = List.copyOf(repository.searchItemIds(key));
+        if (loadedVersion == version.get()) {
+            evictOnRollback(key);
+            results.put(key, ids);
+            if (loadedVersion != version.get()) {
+                results.invalidate(key);
+            }
+        }
+        return ids;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (Objects.equals(event.getOldName(), event.getName())
+                && Objects.equals(event.getOldDescription(), event.getDescription())
+                && Objects.equals(event.getOldAvailable(), event.getAvailable())) {
+            return;
+        }
+        version.incrementAndGet();
+        results.asMap().keySet().removeIf(text ->
+                matches(text, event.getOldName(), event.getOldDescription(), event.getOldAvailable())
+                        || matches(text, event.getName(), event.getDescription(), event.getAvailable()));
+    }
+
+    private static boolean matches(String text, String name, String description, Boolean available) {
+        if (!Boolean.TRUE.equals(available)) {
+            return false;
+        }
+        String content = (name + " " + description).toLowerCase();
+        return Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .allMatch(content::contains);
+    }
+
+    private void evictOnRollback(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    results.invalidate(key);
+                }
+            }
+        });
+    }
+}
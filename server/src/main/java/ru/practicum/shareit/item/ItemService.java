@@ -1,16 +1,34 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.common.BatchDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
     List<ItemDto> getAllItems(long userId, long from, long size);
 
+    List<ItemDto> getAllItemsAfter(long userId, long afterId, long size);
+
     ItemDto getItemById(long userId, long id);
 
-    List<ItemDto> searchItems(long userId, String text, long from, long size);
+    BatchDto<ItemDto> getItemsBatch(long userId, Collection<Long> ids);
+
+    ItemAvailabilityDto getItemAvailability(long userId, long id, LocalDateTime from, LocalDateTime to);
+
+    List<ItemDto> searchItems(long userId, String text, LocalDateTime start, LocalDateTime end, long from, long size);
+
+    List<ItemDto> searchItemsRanked(long userId, String text, LocalDateTime start, LocalDateTime end, long from,
+                                    long size);
+
+    List<String> getAutocomplete(long userId, String prefix, int limit);
+
+    List<ItemRequestDtoOut> getMatchingRequests(long userId, long id);
 
     ItemDto saveItem(long userId, ItemDto itemDto);
 
@@ -4,22 +4,47 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.BookingIntervalTree;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingView;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.common.BatchDto;
+import ru.practicum.shareit.common.BatchMapper;
+import ru.practicum.shareit.common.EntityType;
+import ru.practicum.shareit.common.ExistenceIndex;
 import ru.practicum.shareit.exceptions.ForbiddenException;
 import ru.practicum.shareit.exceptions.IncorrectParameterException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.IntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestMapper;
+import ru.practicum.shareit.request.ItemRequestMatcher;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserService;
-import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,41 +53,152 @@ import java.util.stream.Collectors;
 @Transactional
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class ItemServiceImpl implements ItemService {
+    private static final Set<BookingStatus> BUSY_STATUSES = EnumSet.of(BookingStatus.APPROVED, BookingStatus.WAITING);
     UserService userService;
     BookingRepository bookingRepository;
     ItemRepository repository;
     CommentRepository commentRepository;
-
+    BookingIntervalIndex bookingIntervalIndex;
+    ApplicationEventPublisher eventPublisher;
+    ItemRankIndex rankIndex;
+    ItemAutocompleteIndex autocompleteIndex;
+    SearchAnalytics searchAnalytics;
+    ItemSearchCache searchCache;
+    ItemRequestRepository itemRequestRepository;
+    ItemRequestMatcher requestMatcher;
+    ExistenceIndex existenceIndex;
 
     @Override
     public List<ItemDto> getAllItems(long userId, long from, long size) {
         userValid(userId);
-        List<ItemDto> itemDtos = ItemMapper.toListItemDto(repository.findByUserId(userId));
-        for (ItemDto itemDto : itemDtos) {
-            itemOwnerValid(itemDto, userId, itemDto.getId());
-            itemDto.setComments(addComments(itemDto.getId()));
-        }
-        return itemDtos.stream()
-                .skip(from)
-                .limit(size)
-                .sorted(Comparator.comparing(ItemDto::getId))
-                .collect(Collectors.toList());
+        return addOwnerDetails(ItemMapper.toListItemDto(repository.findPageByUserId(userId, from, size)));
+    }
+
+    @Override
+    public List<ItemDto> getAllItemsAfter(long userId, long afterId, long size) {
+        userValid(userId);
+        return addOwnerDetails(ItemMapper.toListItemDto(repository.findPageByUserIdAfter(userId, afterId, size)));
     }
 
     @Override
     public ItemDto getItemById(long userId, long id) {
-        itemValid(id);
-        ItemDto itemDto = ItemMapper.toItemDto(repository.getById(id));
-        itemOwnerValid(itemDto, userId, id);
-        itemDto.setComments(addComments(id));
+        ItemDto itemDto = ItemMapper.toItemDto(repository.findDetailById(id, userId, LocalDateTime.now())
+                .orElseThrow(() -> {
+                    log.error("Вещи с id не существует! {}", id);
+                    return new NotFoundException("Вещи с таким id не существует!");
+                }));
+        itemDto.setComments(getComments(List.of(id)).getOrDefault(id, new ArrayList<>()));
         return itemDto;
     }
 
     @Override
-    public List<ItemDto> searchItems(long userId, String text, long from, long size) {
-        return ItemMapper.toListItemDto(repository.searchItems(text)).stream()
+    public BatchDto<ItemDto> getItemsBatch(long userId, Collection<Long> ids) {
+        List<Item> items = repository.findAllById(new HashSet<>(ids));
+        List<ItemDto> itemDtos = new ArrayList<>(items.size());
+        List<ItemDto> ownItemDtos = new ArrayList<>();
+        for (Item item : items) {
+            ItemDto itemDto = ItemMapper.toItemDto(item);
+            itemDtos.add(itemDto);
+            if (item.getUserId() == userId) {
+                ownItemDtos.add(itemDto);
+            }
+        }
+        addComments(itemDtos);
+        addBookings(ownItemDtos);
+        return BatchMapper.toBatchDto(ids, itemDtos, ItemDto::getId);
+    }
+
+    @Override
+    public ItemAvailabilityDto getItemAvailability(long userId, long id, LocalDateTime from, LocalDateTime to) {
+        periodValid(from, to);
+        itemValid(id);
+        List<BookingIntervalDto> busy = bookingIntervalIndex.getTree(id).findOverlapping(from, to, BUSY_STATUSES);
+        List<IntervalDto> free = new ArrayList<>();
+        LocalDateTime freeStart = from;
+        for (BookingIntervalDto interval : busy) {
+            if (interval.getStart().isAfter(freeStart)) {
+                free.add(new IntervalDto(freeStart, interval.getStart()));
+            }
+            if (interval.getEnd().isAfter(freeStart)) {
+                freeStart = interval.getEnd();
+            }
+        }
+        if (freeStart.isBefore(to)) {
+            free.add(new IntervalDto(freeStart, to));
+        }
+        return new ItemAvailabilityDto(id, from, to, busy, free);
+    }
+
+    @Override
+    public List<ItemDto> searchItems(long userId, String text, LocalDateTime start, LocalDateTime end,
+                                     long from, long size) {
+        boolean withPeriod = searchPeriodValid(start, end);
+        searchAnalytics.record(text);
+        List<Long> ids = searchCache.getIds(text);
+        if (withPeriod) {
+            Map<Long, BookingIntervalTree> trees = bookingIntervalIndex.getTrees(ids);
+            ids = ids.stream()
+                    .filter(id -> !trees.get(id).hasOverlapping(start, end, BUSY_STATUSES))
+                    .collect(Collectors.toList());
+        }
+        return getItemsInOrder(ids.stream()
                 .skip(from)
                 .limit(size)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<ItemDto> searchItemsRanked(long userId, String text, LocalDateTime start, LocalDateTime end,
+                                           long from, long size) {
+        if (!rankIndex.isReady()) {
+            return searchItems(userId, text, start, end, from, size);
+        }
+        searchAnalytics.record(text);
+        int limit = (int) Math.min(from + size, Integer.MAX_VALUE);
+        List<Long> ids = searchPeriodValid(start, end)
+                ? searchRankedInPeriod(text, start, end, limit)
+                : rankIndex.search(text, limit, id -> true);
+        return getItemsInOrder(ids.subList((int) Math.min(from, ids.size()), ids.size()));
+    }
+
+    private List<Long> searchRankedInPeriod(String text, LocalDateTime start, LocalDateTime end, int limit) {
+        List<Long> matches = Arrays.stream(rankIndex.findMatches(text))
+                .asLongStream()
+                .boxed()
+                .collect(Collectors.toList());
+        Map<Long, BookingIntervalTree> trees = new HashMap<>(bookingIntervalIndex.getTrees(matches));
+        while (true) {
+            Set<Long> missing = new HashSet<>();
+            List<Long> ids = rankIndex.search(text, limit, id -> {
+                BookingIntervalTree tree = trees.get((long) id);
+                if (tree == null) {
+                    missing.add((long) id);
+                    return false;
+                }
+                return !tree.hasOverlapping(start, end, BUSY_STATUSES);
+            });
+            if (missing.isEmpty()) {
+                return ids;
+            }
+            trees.putAll(bookingIntervalIndex.getTrees(missing));
+        }
+    }
+
+    @Override
+    public List<String> getAutocomplete(long userId, String prefix, int limit) {
+        return autocompleteIndex.suggest(prefix, Math.min(limit, autocompleteIndex.getTopSize()));
+    }
+
+    @Override
+    public List<ItemRequestDtoOut> getMatchingRequests(long userId, long id) {
+        itemValid(id);
+        List<Long> ids = requestMatcher.getRequestIds(id);
+        Map<Long, ItemRequest> itemRequests = itemRequestRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        return ids.stream()
+                .map(itemRequests::get)
+                .filter(Objects::nonNull)
+                .map(ItemRequestMapper::toItemRequestDtoOut)
                 .collect(Collectors.toList());
     }
 
@@ -70,34 +206,36 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public ItemDto saveItem(long userId, ItemDto itemDto) {
         userValid(userId);
-
-        return ItemMapper.toItemDto(repository.save(ItemMapper.toItem(userId, itemDto)));
+        Item item = repository.save(ItemMapper.toItem(userId, itemDto));
+        existenceIndex.add(EntityType.ITEM, item.getId());
+        eventPublisher.publishEvent(new ItemChangedEvent(null, item));
+        return ItemMapper.toItemDto(item);
     }
 
     @Transactional
     @Override
     public ItemDto updateItem(long userId, ItemDto itemDto, long id) {
         userValid(userId);
-        itemValid(id);
-        if (repository.getById(id).getUserId() != userId) {
+        Item item = repository.findByIdForUpdate(id).orElseThrow(() -> {
+            log.error("Вещи с id не существует! {}", id);
+            return new NotFoundException("Вещи с таким id не существует!");
+        });
+        if (item.getUserId() != userId) {
             log.error("Пользователь с id {} не может изменять эту вещь с id {}!", userId, id);
             throw new ForbiddenException("Пользователю запрещено изменять чужую вещь!");
         }
-        Item item = ItemMapper.toItem(userId, itemDto);
-        if (itemDto.getName() == null) {
-            item.setName(repository.getById(id).getName());
-            itemDto.setName(repository.getById(id).getName());
+        Item oldItem = ItemMapper.toItem(userId, ItemMapper.toItemDto(item));
+        if (itemDto.getName() != null) {
+            item.setName(itemDto.getName());
         }
-        if (itemDto.getDescription() == null) {
-            item.setDescription(repository.getById(id).getDescription());
-            itemDto.setDescription(repository.getById(id).getDescription());
+        if (itemDto.getDescription() != null) {
+            item.setDescription(itemDto.getDescription());
         }
-        if (itemDto.getAvailable() == null) {
-            item.setAvailable(repository.getById(id).getAvailable());
-            itemDto.setAvailable(repository.getById(id).getAvailable());
+        if (itemDto.getAvailable() != null) {
+            item.setAvailable(itemDto.getAvailable());
         }
-        item.setId(id);
-        return ItemMapper.toItemDto(repository.save(item));
+        eventPublisher.publishEvent(new ItemChangedEvent(oldItem, item));
+        return ItemMapper.toItemDto(item);
     }
 
     @Transactional
@@ -110,50 +248,96 @@ public class ItemServiceImpl implements ItemService {
         Comment comment = CommentMapper.toComment(commentDto);
         comment.setItem(itemId);
         comment.setAuthor(userId);
-        comment.setCreated(LocalDateTime.now());
+        comment.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
         commentRepository.save(comment);
         commentDto = CommentMapper.toCommentDto(commentRepository.save(comment));
         commentDto.setAuthorName(userService.getUserById(userId).getName());
         return commentDto;
     }
 
-    private List<CommentDto> addComments(long itemId) {
-        List<CommentDto> comments = new ArrayList<>();
-        for (Comment comment : commentRepository.findAll()) {
-            if (comment.getItem().equals(itemId)) {
-                CommentDto commentDto = CommentMapper.toCommentDto(comment);
-                commentDto.setAuthorName(userService.getUserById(comment.getAuthor()).getName());
-                comments.add(commentDto);
-            }
+    private List<ItemDto> getItemsInOrder(List<Long> ids) {
+        Map<Long, Item> items = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
+    private List<ItemDto> addOwnerDetails(List<ItemDto> itemDtos) {
+        addComments(itemDtos);
+        addBookings(itemDtos);
+        return itemDtos;
+    }
+
+    private void addComments(List<ItemDto> itemDtos) {
+        Map<Long, List<CommentDto>> comments = getComments(itemDtos.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList()));
+        for (ItemDto itemDto : itemDtos) {
+            itemDto.setComments(comments.getOrDefault(itemDto.getId(), new ArrayList<>()));
+        }
+    }
+
+    private Map<Long, List<CommentDto>> getComments(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
         }
-        return comments;
+        return commentRepository.findAllWithAuthorByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(CommentWithAuthor::getItemId,
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
     }
 
-    private void itemOwnerValid(ItemDto itemDto, long userId, long id) {
-        if (repository.getById(id).getUserId().equals(userId)) {
-            itemDto.setLastBooking(bookingRepository.findLastBookingByItemId(id, LocalDateTime.now()));
-            itemDto.setNextBooking(bookingRepository.findNextBookingByItemId(id, LocalDateTime.now()));
+    private void addBookings(List<ItemDto> itemDtos) {
+        if (itemDtos.isEmpty()) {
+            return;
+        }
+        Map<Long, ItemDto> items = new HashMap<>();
+        for (ItemDto itemDto : itemDtos) {
+            items.put(itemDto.getId(), itemDto);
+        }
+        for (ItemBookingView booking : bookingRepository.findLastAndNextBookingsByItemIdIn(items.keySet(),
+                LocalDateTime.now())) {
+            if (ItemBookingView.LAST.equals(booking.getKind())) {
+                items.get(booking.getItemId()).setLastBooking(booking);
+            } else {
+                items.get(booking.getItemId()).setNextBooking(booking);
+            }
         }
     }
 
     private void userValid(long userId) {
-        if (!userService.getAllUsers().stream()
-                .map(UserDto::getId)
-                .collect(Collectors.toList())
-                .contains(userId)) {
+        if (!existenceIndex.exists(EntityType.USER, userId)) {
             log.error("Пользователя с id не существует! {}", userId);
             throw new NotFoundException("Пользователя с таким id не существует!");
         }
     }
 
     private void itemValid(long id) {
-        if (!repository.findAll().stream()
-                .map(Item::getId)
-                .collect(Collectors.toList())
-                .contains(id)) {
+        if (!existenceIndex.exists(EntityType.ITEM, id)) {
             log.error("Вещи с id не существует! {}", id);
             throw new NotFoundException("Вещи с таким id не существует!");
         }
     }
 
+    private boolean searchPeriodValid(LocalDateTime start, LocalDateTime end) {
+        if (start == null && end == null) {
+            return false;
+        }
+        if (start == null || end == null) {
+            log.error("Не указано начало {} или окончание {} периода!", start, end);
+            throw new IncorrectParameterException("Необходимо указать начало и окончание периода!");
+        }
+        periodValid(start, end);
+        return true;
+    }
+
+    private void periodValid(LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            log.error("Начало периода {} должно быть раньше его окончания {}!", start, end);
+            throw new IncorrectParameterException("Начало периода должно быть раньше его окончания!");
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.item;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.QueryCountDto;
+import ru.practicum.shareit.item.dto.SearchAnalyticsDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class SearchAnalytics {
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 1 << 12;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    AtomicLong total = new AtomicLong();
+    AtomicLongArray sketch = new AtomicLongArray(SKETCH_DEPTH * SKETCH_WIDTH);
+    int topSize;
+    Map<String, Counter> counters = new HashMap<>();
+    AtomicReferenceArray<String> recent;
+    AtomicLong recentCursor = new AtomicLong();
+
+    public SearchAnalytics(@Value("${shareit.search-analytics.top-size:20}") int topSize,
+                           @Value("${shareit.search-analytics.recent-size:100}") int recentSize) {
+        this.topSize = topSize;
+        this.recent = new AtomicReferenceArray<>(recentSize);
+    }
+
+    public void record(String text) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        String query = text.trim().toLowerCase();
+        total.incrementAndGet();
+        int hash = query.hashCode();
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            sketch.incrementAndGet(row * SKETCH_WIDTH + index(hash, row));
+        }
+        recent.set((int) (recentCursor.getAndIncrement() % recent.length()), query);
+        synchronized (counters) {
+            Counter counter = counters.get(query);
+            if (counter != null) {
+                counter.count++;
+            } else if (counters.size() < topSize) {
+                counters.put(query, new Counter(1, 0));
+            } else {
+                Map.Entry<String, Counter> min = counters.entrySet().stream()
+                        .min(Comparator.comparingLong(entry -> entry.getValue().count))
+                        .orElseThrow();
+                counters.remove(min.getKey());
+                counters.put(query, new Counter(min.getValue().count + 1, min.getValue().count));
+            }
+        }
+    }
+
+    public long estimate(String text) {
+        int hash = text.trim().toLowerCase().hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            estimate = Math.min(estimate, sketch.get(row * SKETCH_WIDTH + index(hash, row)));
+        }
+        return estimate;
+    }
+
+    public List<QueryCountDto> getPopular() {
+        Map<String, Counter> snapshot = new HashMap<>();
+        synchronized (counters) {
+            counters.forEach((query, counter) -> snapshot.put(query, new Counter(counter.count, counter.error)));
+        }
+        return snapshot.entrySet().stream()
+                .map(entry -> new QueryCountDto(entry.getKey(),
+                        Math.min(entry.getValue().count, estimate(entry.getKey())), entry.getValue().error))
+                .sorted(Comparator.comparingLong(QueryCountDto::getCount).reversed()
+                        .thenComparing(QueryCountDto::getQuery))
+                .collect(Collectors.toList());
+    }
+
+    public List<String> getRecent() {
+        long cursor = recentCursor.get();
+        List<String> queries = new ArrayList<>();
+        for (long position = cursor - 1; position >= Math.max(cursor - recent.length(), 0); position--) {
+            String query = recent.get((int) (position % recent.length()));
+            if (query != null) {
+                queries.add(query);
+            }
+        }
+        return queries;
+    }
+
+    public SearchAnalyticsDto getAnalytics() {
+        return new SearchAnalyticsDto(total.get(), getPopular(), getRecent());
+    }
+
+    private static int index(int hash, int row) {
+        int mixed = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % SKETCH_DEPTH];
+        return (mixed ^ mixed >>> 16) & (SKETCH_WIDTH - 1);
+    }
+
+    private static final class Counter {
+        long count;
+        long error;
+
+        Counter(long count, long error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
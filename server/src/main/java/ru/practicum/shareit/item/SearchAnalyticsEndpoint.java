@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.SearchAnalyticsDto;
+
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "searchanalytics")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class SearchAnalyticsEndpoint {
+    SearchAnalytics searchAnalytics;
+
+    @ReadOperation
+    public SearchAnalyticsDto getAnalytics() {
+        return searchAnalytics.getAnalytics();
+    }
+
+    @ReadOperation
+    public long getEstimate(@Selector String query) {
+        return searchAnalytics.estimate(query);
+    }
+}
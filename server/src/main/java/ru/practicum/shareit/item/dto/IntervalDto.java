@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class IntervalDto {
+    LocalDateTime start;
+    LocalDateTime end;
+}
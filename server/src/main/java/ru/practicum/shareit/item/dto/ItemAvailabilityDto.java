@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemAvailabilityDto {
+    Long itemId;
+    LocalDateTime from;
+    LocalDateTime to;
+    List<BookingIntervalDto> busy;
+    List<IntervalDto> free;
+}
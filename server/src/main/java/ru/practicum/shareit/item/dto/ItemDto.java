@@ -1,10 +1,13 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.BookingSummary;
+import ru.practicum.shareit.booking.BookingSummarySerializer;
 
 import java.util.List;
-import java.util.Optional;
 
 @Data
 @AllArgsConstructor
@@ -16,8 +19,12 @@ public class ItemDto {
     String name;
     String description;
     Boolean available;
-    Optional lastBooking;
-    Optional nextBooking;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonSerialize(using = BookingSummarySerializer.class)
+    BookingSummary lastBooking;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonSerialize(using = BookingSummarySerializer.class)
+    BookingSummary nextBooking;
     List<CommentDto> comments;
     Long requestId;
 }
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class QueryCountDto {
+    String query;
+    long count;
+    long error;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SearchAnalyticsDto {
+    long total;
+    List<QueryCountDto> popular;
+    List<String> recent;
+}
@@ -2,7 +2,12 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.common.CursorCodec;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
 
@@ -29,11 +34,29 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDtoOut> getAllItemRequest(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                     @RequestParam(value = "from", defaultValue = "0") long from,
-                                                     @RequestParam(value = "size", defaultValue = "1") long size) {
+    public ResponseEntity<List<ItemRequestDtoOut>> getAllItemRequest(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(value = "from", defaultValue = "0") long from,
+            @RequestParam(value = "size", defaultValue = "1") long size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
         log.info("Получили все запросы других пользователей");
-        return itemRequestService.getAllItemRequest(userId, from, size);
+        List<ItemRequestDtoOut> itemRequests = cursor == null
+                ? itemRequestService.getAllItemRequest(userId, from, size)
+                : itemRequestService.getAllItemRequestAfter(userId, CursorCodec.decodeTime(cursor, 0, 2),
+                CursorCodec.decodeId(cursor, 1, 2), size);
+        if (itemRequests.size() < size) {
+            return ResponseEntity.ok(itemRequests);
+        }
+        ItemRequestDtoOut last = itemRequests.get(itemRequests.size() - 1);
+        return ResponseEntity.ok()
+                .header(CursorCodec.NEXT_CURSOR_HEADER, CursorCodec.encode(last.getCreated(), last.getId()))
+                .body(itemRequests);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getItemRequestStream(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Подписались на новые запросы других пользователей");
+        return itemRequestService.getItemRequestStream(userId);
     }
 
     @GetMapping("/{requestId}")
@@ -42,4 +65,11 @@ public class ItemRequestController {
         log.info("Получили запрос с id {}", requestId);
         return itemRequestService.getItemRequestById(userId, requestId);
     }
+
+    @GetMapping("/{requestId}/suggestions")
+    public List<ItemDto> getSuggestions(@RequestHeader("X-Sharer-User-Id") long userId,
+                                        @PathVariable("requestId") long requestId) {
+        log.info("Получили вещи, подходящие запросу с id {}", requestId);
+        return itemRequestService.getSuggestions(userId, requestId);
+    }
 }
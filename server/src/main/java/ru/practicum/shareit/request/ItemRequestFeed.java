@@ -0,0 +1,182 @@
+package ru.practicum.shareit.request;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ItemRequestFeed {
+    public static final String EVENT_NAME = "request";
+
+    Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    ThreadPoolExecutor sender;
+    int queueSize;
+    long timeout;
+    long sendTimeoutNanos;
+
+    public ItemRequestFeed(@Value("${shareit.request-stream.queue-size:100}") int queueSize,
+                           @Value("${shareit.request-stream.timeout:1800000}") long timeout,
+                           @Value("${shareit.request-stream.senders:2}") int senders,
+                           @Value("${shareit.request-stream.send-timeout:10000}") long sendTimeout) {
+        this.queueSize = queueSize;
+        this.timeout = timeout;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeout);
+        this.sender = new ThreadPoolExecutor(senders, senders, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    }
+
+    public SseEmitter subscribe(long userId) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(queueSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        log.info("Пользователь {} подписался на новые запросы, подписчиков: {}", userId, subscribers.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemRequestSaved(ItemRequestSavedEvent event) {
+        ItemRequest itemRequest = event.getItemRequest();
+        ItemRequestDtoOut itemRequestDtoOut = ItemRequestMapper.toItemRequestDtoOut(itemRequest);
+        itemRequestDtoOut.setItems(List.of());
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.userId == itemRequest.getRequesterId()) {
+                continue;
+            }
+            if (subscriber.markStuck(System.nanoTime(), sendTimeoutNanos)) {
+                dropStuck(subscriber);
+                continue;
+            }
+            while (!subscriber.queue.offer(itemRequestDtoOut)) {
+                if (subscriber.queue.poll() != null) {
+                    log.debug("Подписчик {} не успевает получать запросы, старый запрос пропущен", subscriber.userId);
+                }
+            }
+            schedule(subscriber);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        boolean stuck = false;
+        try {
+            ItemRequestDtoOut itemRequestDtoOut;
+            while ((itemRequestDtoOut = subscriber.queue.poll()) != null) {
+                subscriber.startSend(System.nanoTime());
+                try {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(itemRequestDtoOut.getId()))
+                            .name(EVENT_NAME)
+                            .data(itemRequestDtoOut, MediaType.APPLICATION_JSON));
+                } finally {
+                    stuck = subscriber.finishSend();
+                }
+                if (stuck) {
+                    subscriber.emitter.completeWithError(new IOException("Подписчик не принимает новые запросы"));
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.info("Подписчик {} отключился от новых запросов", subscriber.userId);
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            return;
+        } finally {
+            subscriber.draining.set(false);
+            if (stuck) {
+                resizeSender(-1);
+            }
+        }
+        if (!subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void dropStuck(Subscriber subscriber) {
+        log.warn("Подписчик {} не принимает новые запросы дольше {} мс, подписка закрыта",
+                subscriber.userId, TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+        subscribers.remove(subscriber);
+        subscriber.queue.clear();
+        resizeSender(1);
+    }
+
+    private void resizeSender(int delta) {
+        synchronized (sender) {
+            int size = sender.getCorePoolSize() + delta;
+            if (delta > 0) {
+                sender.setMaximumPoolSize(size);
+                sender.setCorePoolSize(size);
+            } else {
+                sender.setCorePoolSize(size);
+                sender.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Subscriber {
+        final long userId;
+        final SseEmitter emitter;
+        final BlockingQueue<ItemRequestDtoOut> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        long sendStarted;
+        Thread sendThread;
+        boolean stuck;
+
+        synchronized void startSend(long now) {
+            sendStarted = now;
+            sendThread = Thread.currentThread();
+        }
+
+        synchronized boolean finishSend() {
+            sendThread = null;
+            if (stuck) {
+                Thread.interrupted();
+            }
+            return stuck;
+        }
+
+        synchronized boolean markStuck(long now, long sendTimeoutNanos) {
+            if (sendThread == null || stuck || now - sendStarted < sendTimeoutNanos) {
+                return false;
+            }
+            stuck = true;
+            sendThread.interrupt();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package ru.practicum.shareit.request;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ItemRequestMatcher {
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final int MIN_PREFIX_LENGTH = 4;
+    private static final int STEM_LENGTH = 6;
+
+    JdbcTemplate jdbcTemplate;
+    int maxMatches;
+    double minScore;
+    TermIndex requests = new TermIndex();
+    TermIndex items = new TermIndex();
+    Map<Long, Map<Long, Double>> itemsByRequest = new HashMap<>();
+    Map<Long, Map<Long, Double>> requestsByItem = new HashMap<>();
+    ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemRequestMatcher(JdbcTemplate jdbcTemplate,
+                              @Value("${shareit.request-matcher.max-matches:10}") int maxMatches,
+                              @Value("${shareit.request-matcher.min-score:0.5}") double minScore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxMatches = maxMatches;
+        this.minScore = minScore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            requests.clear();
+            items.clear();
+            itemsByRequest.clear();
+            requestsByItem.clear();
+            jdbcTemplate.query("select id, requester_id, description from requests",
+                    rs -> {
+                        requests.add(rs.getLong(1), rs.getLong(2), terms(rs.getString(3)));
+                    });
+            jdbcTemplate.query("select id, user_id, name, description from items where available = true",
+                    rs -> {
+                        items.add(rs.getLong(1), rs.getLong(2), terms(rs.getString(3) + " " + rs.getString(4)));
+                    });
+            items.ids().forEach(this::matchItem);
+            log.info("Построили индекс запросов: {} запросов, {} вещей, {} совпадений", requests.size(), items.size(),
+                    requestsByItem.values().stream().mapToInt(Map::size).sum());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (Objects.equals(event.getOldName(), event.getName())
+                && Objects.equals(event.getOldDescription(), event.getDescription())
+                && Objects.equals(event.getOldAvailable(), event.getAvailable())) {
+            return;
+        }
+        Set<String> terms = Boolean.TRUE.equals(event.getAvailable())
+                ? terms(event.getName() + " " + event.getDescription()) : Set.of();
+        lock.writeLock().lock();
+        try {
+            unlink(event.getId(), requestsByItem, itemsByRequest);
+            items.remove(event.getId());
+            if (!terms.isEmpty()) {
+                items.add(event.getId(), event.getUserId(), terms);
+                matchItem(event.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemRequestSaved(ItemRequestSavedEvent event) {
+        ItemRequest itemRequest = event.getItemRequest();
+        Set<String> terms = terms(itemRequest.getDescription());
+        lock.writeLock().lock();
+        try {
+            requests.add(itemRequest.getId(), itemRequest.getRequesterId(), terms);
+            best(items.score(terms, itemRequest.getRequesterId()))
+                    .forEach((itemId, score) -> link(itemId, itemRequest.getId(), score));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> getItemIds(long requestId) {
+        return ranked(itemsByRequest, requestId);
+    }
+
+    public List<Long> getRequestIds(long itemId) {
+        return ranked(requestsByItem, itemId);
+    }
+
+    private void matchItem(long itemId) {
+        best(requests.score(items.terms(itemId), items.owner(itemId)))
+                .forEach((requestId, score) -> link(itemId, requestId, score));
+    }
+
+    private Map<Long, Double> best(Map<Long, Double> scores) {
+        return scores.entrySet().stream()
+                .filter(entry -> entry.getValue() >= minScore)
+                .sorted(byScore())
+                .limit(maxMatches)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private void link(long itemId, long requestId, double score) {
+        itemsByRequest.computeIfAbsent(requestId, id -> new HashMap<>()).put(itemId, score);
+        requestsByItem.computeIfAbsent(itemId, id -> new HashMap<>()).put(requestId, score);
+    }
+
+    private static void unlink(long id, Map<Long, Map<Long, Double>> links, Map<Long, Map<Long, Double>> backLinks) {
+        Map<Long, Double> linked = links.remove(id);
+        if (linked == null) {
+            return;
+        }
+        for (Long linkedId : linked.keySet()) {
+            Map<Long, Double> back = backLinks.get(linkedId);
+            back.remove(id);
+            if (back.isEmpty()) {
+                backLinks.remove(linkedId);
+            }
+        }
+    }
+
+    private List<Long> ranked(Map<Long, Map<Long, Double>> links, long id) {
+        lock.readLock().lock();
+        try {
+            return links.getOrDefault(id, Map.of()).entrySet().stream()
+                    .sorted(byScore())
+                    .limit(maxMatches)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Comparator<Map.Entry<Long, Double>> byScore() {
+        return Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+    }
+
+    private static Set<String> terms(String text) {
+        Set<String> terms = new HashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_TERM_LENGTH) {
+                terms.add(word.substring(0, Math.min(word.length(), STEM_LENGTH)));
+            }
+        }
+        return terms;
+    }
+
+    private static final class TermIndex {
+        NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+        Map<Long, Set<String>> terms = new HashMap<>();
+        Map<Long, Long> owners = new HashMap<>();
+
+        void add(long id, Long owner, Set<String> documentTerms) {
+            terms.put(id, documentTerms);
+            owners.put(id, owner);
+            for (String term : documentTerms) {
+                postings.computeIfAbsent(term, key -> new HashSet<>()).add(id);
+            }
+        }
+
+        void remove(long id) {
+            Set<String> documentTerms = terms.remove(id);
+            owners.remove(id);
+            if (documentTerms == null) {
+                return;
+            }
+            for (String term : documentTerms) {
+                Set<Long> ids = postings.get(term);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        void clear() {
+            postings.clear();
+            terms.clear();
+            owners.clear();
+        }
+
+        int size() {
+            return terms.size();
+        }
+
+        List<Long> ids() {
+            return new ArrayList<>(terms.keySet());
+        }
+
+        Set<String> terms(long id) {
+            return terms.getOrDefault(id, Set.of());
+        }
+
+        Long owner(long id) {
+            return owners.get(id);
+        }
+
+        Map<Long, Double> score(Set<String> queryTerms, Long excludedOwner) {
+            Map<Long, Double> scores = new HashMap<>();
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> termScores = new HashMap<>();
+                for (Map.Entry<String, Set<Long>> posting : related(queryTerm).entrySet()) {
+                    double idf = Math.log((double) (terms.size() + 1) / posting.getValue().size());
+                    for (Long id : posting.getValue()) {
+                        if (!Objects.equals(owners.get(id), excludedOwner)) {
+                            termScores.merge(id, idf, Math::max);
+                        }
+                    }
+                }
+                termScores.forEach((id, score) -> scores.merge(id, score, Double::sum));
+            }
+            return scores;
+        }
+
+        private Map<String, Set<Long>> related(String term) {
+            Map<String, Set<Long>> related = new HashMap<>();
+            for (int length = MIN_PREFIX_LENGTH; length < term.length(); length++) {
+                String prefix = term.substring(0, length);
+                Set<Long> ids = postings.get(prefix);
+                if (ids != null) {
+                    related.put(prefix, ids);
+                }
+            }
+            if (term.length() < MIN_PREFIX_LENGTH) {
+                Set<Long> ids = postings.get(term);
+                if (ids != null) {
+                    related.put(term, ids);
+                }
+            } else {
+                related.putAll(postings.subMap(term, true, term + Character.MAX_VALUE, false));
+            }
+            return related;
+        }
+    }
+}
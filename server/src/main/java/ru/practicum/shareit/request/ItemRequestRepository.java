@@ -1,7 +1,30 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    @Query(value = "select * " +
+            "from requests as r " +
+            "where r.requester_id = ?1 " +
+            "order by r.created, r.id", nativeQuery = true)
+    List<ItemRequest> findAllByRequesterId(long requesterId);
+
+    @Query(value = "select * " +
+            "from requests as r " +
+            "where r.requester_id <> ?1 " +
+            "order by r.created, r.id " +
+            "limit ?3 offset ?2", nativeQuery = true)
+    List<ItemRequest> findPageByRequesterIdNot(long requesterId, long from, long size);
+
+    @Query(value = "select * " +
+            "from requests as r " +
+            "where r.requester_id <> ?1 and (r.created > ?2 or (r.created = ?2 and r.id > ?3)) " +
+            "order by r.created, r.id " +
+            "limit ?4", nativeQuery = true)
+    List<ItemRequest> findPageByRequesterIdNotAfter(long requesterId, LocalDateTime created, long id, long size);
 }
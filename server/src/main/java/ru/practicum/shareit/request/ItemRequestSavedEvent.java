@@ -0,0 +1,14 @@
+package ru.practicum.shareit.request;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ItemRequestSavedEvent {
+    ItemRequest itemRequest;
+}
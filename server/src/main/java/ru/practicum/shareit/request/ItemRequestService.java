@@ -1,8 +1,11 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestService {
@@ -12,5 +15,11 @@ public interface ItemRequestService {
 
     List<ItemRequestDtoOut> getAllItemRequest(long userId, long from, long size);
 
+    List<ItemRequestDtoOut> getAllItemRequestAfter(long userId, LocalDateTime afterCreated, long afterId, long size);
+
     ItemRequestDtoOut getItemRequestById(long userId, Long requestId);
+
+    List<ItemDto> getSuggestions(long userId, long requestId);
+
+    SseEmitter getItemRequestStream(long userId);
 }
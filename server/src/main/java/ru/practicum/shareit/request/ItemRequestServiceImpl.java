@@ -4,8 +4,12 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.common.EntityType;
+import ru.practicum.shareit.common.ExistenceIndex;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
@@ -14,13 +18,14 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.user.UserService;
-import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,8 +35,11 @@ import java.util.stream.Collectors;
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class ItemRequestServiceImpl implements ItemRequestService {
     ItemRequestRepository repository;
-    UserService userService;
     ItemRepository itemRepository;
+    ItemRequestMatcher matcher;
+    ApplicationEventPublisher eventPublisher;
+    ItemRequestFeed feed;
+    ExistenceIndex existenceIndex;
 
     @Transactional
     @Override
@@ -40,26 +48,30 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(requesterId, itemRequestDtoIn);
         itemRequest.setCreated(LocalDateTime.now());
         repository.save(itemRequest);
+        existenceIndex.add(EntityType.REQUEST, itemRequest.getId());
+        eventPublisher.publishEvent(new ItemRequestSavedEvent(itemRequest));
         return ItemRequestMapper.toItemRequestDtoOut(itemRequest);
     }
 
     @Override
     public List<ItemRequestDtoOut> getAllItemRequestByRequesterId(long requesterId) {
         userValid(requesterId);
-        return addItemsToItemRequests().stream()
-                .filter(a -> a.getRequesterId().equals(requesterId))
-                .sorted(Comparator.comparing(ItemRequest::getCreated))
+        return addItems(repository.findAllByRequesterId(requesterId)).stream()
                 .map(ItemRequestMapper::toItemRequestDtoOut)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<ItemRequestDtoOut> getAllItemRequest(long userId, long from, long size) {
-        return addItemsToItemRequests().stream()
-                .filter(a -> !a.getRequesterId().equals(userId))
-                .skip(from)
-                .limit(size)
-                .sorted(Comparator.comparing(ItemRequest::getCreated))
+        return addItems(repository.findPageByRequesterIdNot(userId, from, size)).stream()
+                .map(ItemRequestMapper::toItemRequestDtoOut)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ItemRequestDtoOut> getAllItemRequestAfter(long userId, LocalDateTime afterCreated, long afterId,
+                                                          long size) {
+        return addItems(repository.findPageByRequesterIdNotAfter(userId, afterCreated, afterId, size)).stream()
                 .map(ItemRequestMapper::toItemRequestDtoOut)
                 .collect(Collectors.toList());
     }
@@ -69,44 +81,54 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         userValid(userId);
         itemRequestValid(requestId);
         ItemRequest itemRequest = repository.getById(requestId);
-        itemRequest.setItems(addItemDtoToList(requestId));
+        addItems(List.of(itemRequest));
         return ItemRequestMapper.toItemRequestDtoOut(itemRequest);
     }
 
-    private List<ItemRequest> addItemsToItemRequests() {
-        List<ItemRequest> itemRequests = new ArrayList<>();
-        for (ItemRequest itemRequest : repository.findAll()) {
-            itemRequest.setItems(addItemDtoToList(itemRequest.getId()));
-            itemRequests.add(itemRequest);
-        }
-        return itemRequests;
+    @Override
+    public List<ItemDto> getSuggestions(long userId, long requestId) {
+        itemRequestValid(requestId);
+        List<Long> ids = matcher.getItemIds(requestId);
+        Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
     }
 
-    private List<ItemDto> addItemDtoToList(Long requestId) {
-        List<ItemDto> itemDtos = new ArrayList<>();
-        for (Item item : itemRepository.findAll()) {
-            if (requestId.equals(item.getRequestId())) {
-                itemDtos.add(ItemMapper.toItemDto(item));
-            }
+    @Override
+    public SseEmitter getItemRequestStream(long userId) {
+        userValid(userId);
+        return feed.subscribe(userId);
+    }
+
+    private List<ItemRequest> addItems(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return itemRequests;
         }
-        return itemDtos;
+        Map<Long, List<ItemDto>> items = new HashMap<>();
+        for (Item item : itemRepository.findAllByRequestIdIn(itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList()))) {
+            items.computeIfAbsent(item.getRequestId(), id -> new ArrayList<>()).add(ItemMapper.toItemDto(item));
+        }
+        for (ItemRequest itemRequest : itemRequests) {
+            itemRequest.setItems(items.getOrDefault(itemRequest.getId(), new ArrayList<>()));
+        }
+        return itemRequests;
     }
 
     private void userValid(long userId) {
-        if (!userService.getAllUsers().stream()
-                .map(UserDto::getId)
-                .collect(Collectors.toList())
-                .contains(userId)) {
+        if (!existenceIndex.exists(EntityType.USER, userId)) {
             log.error("Пользователя с id не существует! {}", userId);
             throw new NotFoundException("Пользователя с таким id не существует!");
         }
     }
 
     private void itemRequestValid(long id) {
-        if (!repository.findAll().stream()
-                .map(ItemRequest::getId)
-                .collect(Collectors.toList())
-                .contains(id)) {
+        if (!existenceIndex.exists(EntityType.REQUEST, id)) {
             log.error("Запроса с id не существует! {}", id);
             throw new NotFoundException("Запроса с таким id не существует!");
         }
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class UserCache {
+    boolean enabled;
+    Cache<Long, UserDto> users;
+    AtomicLong version = new AtomicLong();
+
+    public UserCache(MeterRegistry meterRegistry,
+                     @Value("${shareit.user-cache.enabled:true}") boolean enabled,
+                     @Value("${shareit.user-cache.maximum-size:10000}") long maximumSize) {
+        this.enabled = enabled;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+    }
+
+    public UserDto get(long id, LongFunction<UserDto> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        UserDto user = users.getIfPresent(id);
+        if (user == null) {
+            long loadedVersion = version.get();
+            user = loader.apply(id);
+            put(user, loadedVersion);
+        }
+        return copy(user);
+    }
+
+    public List<UserDto> getAll(Collection<Long> ids, Function<Collection<Long>, List<UserDto>> loader) {
+        if (!enabled) {
+            return loader.apply(ids);
+        }
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        Map<Long, UserDto> present = users.getAllPresent(missing);
+        missing.removeAll(present.keySet());
+        List<UserDto> result = new ArrayList<>(present.size() + missing.size());
+        present.values().forEach(user -> result.add(copy(user)));
+        if (!missing.isEmpty()) {
+            long loadedVersion = version.get();
+            for (UserDto user : loader.apply(missing)) {
+                put(user, loadedVersion);
+                result.add(copy(user));
+            }
+        }
+        return result;
+    }
+
+    public void invalidate(long id) {
+        version.incrementAndGet();
+        users.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    version.incrementAndGet();
+                    users.invalidate(id);
+                }
+            });
+        }
+    }
+
+    private void put(UserDto user, long loadedVersion) {
+        if (loadedVersion != version.get()) {
+            return;
+        }
+        evictOnRollback(user.getId());
+        users.put(user.getId(), copy(user));
+        if (loadedVersion != version.get()) {
+            users.invalidate(user.getId());
+        }
+    }
+
+    private void evictOnRollback(long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    users.invalidate(id);
+                }
+            }
+        });
+    }
+
+    private static UserDto copy(UserDto user) {
+        return new UserDto(user.getId(), user.getName(), user.getEmail());
+    }
+}
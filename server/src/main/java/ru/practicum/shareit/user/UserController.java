@@ -1,10 +1,22 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.common.BatchDto;
+import ru.practicum.shareit.common.CursorCodec;
+import ru.practicum.shareit.common.StreamTimeoutInterceptor;
+import ru.practicum.shareit.exceptions.IncorrectParameterException;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Slf4j
@@ -12,12 +24,61 @@ import java.util.List;
 @RequiredArgsConstructor
 @RequestMapping(path = "/users")
 public class UserController {
+    private static final long DEFAULT_PAGE_SIZE = 10;
+    private static final long EXPORT_TIMEOUT = 1_800_000;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public List<UserDto> getAllUsers() {
+    public ResponseEntity<List<UserDto>> getAllUsers(@RequestParam(value = "from", required = false) Long from,
+                                                     @RequestParam(value = "size", required = false) Long size,
+                                                     @RequestParam(value = "cursor", required = false) String cursor) {
         log.info("Получили всех пользователей");
-        return userService.getAllUsers();
+        if (from == null && size == null && cursor == null) {
+            return ResponseEntity.ok(userService.getAllUsers());
+        }
+        long offset = from == null ? 0 : from;
+        long pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (offset < 0) {
+            log.info("Неверный параметр from: {}, from должен быть больше 0 ", offset);
+            throw new IncorrectParameterException("Неверный параметр from: {}, from должен быть больше 0 " + offset);
+        }
+        if (pageSize <= 0) {
+            log.info("Неверный параметр size: {}, size должен быть больше 0 ", pageSize);
+            throw new IncorrectParameterException("Неверный параметр size: {}, size должен быть больше 0 " + pageSize);
+        }
+        List<UserDto> users = cursor == null
+                ? userService.getUsers(offset, pageSize)
+                : userService.getUsersAfter(CursorCodec.decodeId(cursor), pageSize);
+        if (users.size() < pageSize) {
+            return ResponseEntity.ok(users);
+        }
+        return ResponseEntity.ok()
+                .header(CursorCodec.NEXT_CURSOR_HEADER, CursorCodec.encode(users.get(users.size() - 1).getId()))
+                .body(users);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers(HttpServletRequest request) {
+        log.info("Выгрузили всех пользователей");
+        StreamTimeoutInterceptor.register(request, EXPORT_TIMEOUT);
+        ObjectWriter writer = objectMapper.writerFor(UserDto.class);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> userService.exportUsers(user -> {
+                    try {
+                        outputStream.write(writer.writeValueAsBytes(user));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+    }
+
+    @GetMapping("/batch")
+    public BatchDto<UserDto> getUsersBatch(@RequestParam("ids") List<Long> ids) {
+        log.info("Получили пользователей с id {}", ids);
+        return userService.getUsersBatch(ids);
     }
 
     @GetMapping("/{id}")
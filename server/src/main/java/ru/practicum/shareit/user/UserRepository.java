@@ -1,7 +1,31 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 public interface UserRepository extends JpaRepository<User, Long> {
-}
\ No newline at end of file
+    @Query(value = "select * " +
+            "from users as u " +
+            "order by u.id " +
+            "limit ?2 offset ?1", nativeQuery = true)
+    List<User> findPage(long from, long size);
+
+    @Query(value = "select * " +
+            "from users as u " +
+            "where u.id > ?1 " +
+            "order by u.id " +
+            "limit ?2", nativeQuery = true)
+    List<User> findPageAfter(long afterId, long size);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select u from User as u order by u.id")
+    Stream<User> streamAll();
+}
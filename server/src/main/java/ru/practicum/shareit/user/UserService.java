@@ -1,17 +1,30 @@
 package ru.practicum.shareit.user;
 
+import ru.practicum.shareit.common.BatchDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     List<UserDto> getAllUsers();
 
+    List<UserDto> getUsers(long from, long size);
+
+    List<UserDto> getUsersAfter(long afterId, long size);
+
+    void exportUsers(Consumer<UserDto> action);
+
     UserDto saveUser(UserDto userDto);
 
     void removeUser(long id);
 
     UserDto getUserById(long id);
 
+    List<UserDto> getUsersByIds(Collection<Long> ids);
+
+    BatchDto<UserDto> getUsersBatch(Collection<Long> ids);
+
     UserDto updateUser(UserDto userDto, long id);
 }
\ No newline at end of file
@@ -2,14 +2,25 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.BatchDto;
+import ru.practicum.shareit.common.BatchMapper;
+import ru.practicum.shareit.common.EntityType;
+import ru.practicum.shareit.common.ExistenceIndex;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManager;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -17,52 +28,94 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserServiceImpl implements UserService {
     private final UserRepository repository;
+    private final ExistenceIndex existenceIndex;
+    private final UserCache userCache;
+    private final EntityManager entityManager;
+    private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<UserDto> getAllUsers() {
         return UserMapper.toListUserDto(repository.findAll());
     }
 
+    @Override
+    public List<UserDto> getUsers(long from, long size) {
+        return UserMapper.toListUserDto(repository.findPage(from, size));
+    }
+
+    @Override
+    public List<UserDto> getUsersAfter(long afterId, long size) {
+        return UserMapper.toListUserDto(repository.findPageAfter(afterId, size));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportUsers(Consumer<UserDto> action) {
+        try (Stream<User> users = repository.streamAll()) {
+            users.forEach(user -> {
+                action.accept(UserMapper.toUserDto(user));
+                entityManager.detach(user);
+            });
+        }
+    }
+
     @Transactional
     @Override
     public UserDto saveUser(UserDto userDto) {
-        return UserMapper.toUserDto(repository.save(UserMapper.toUser(userDto)));
+        User user = repository.save(UserMapper.toUser(userDto));
+        existenceIndex.add(EntityType.USER, user.getId());
+        return UserMapper.toUserDto(user);
     }
 
     @Transactional
     @Override
     public void removeUser(long id) {
+        List<Item> items = itemRepository.findByUserId(id);
         repository.deleteById(id);
+        items.forEach(item -> eventPublisher.publishEvent(new ItemChangedEvent(item, null)));
+        userCache.invalidate(id);
+        existenceIndex.remove(EntityType.USER, id);
+        existenceIndex.reloadAfterCommit(EntityType.ITEM, EntityType.BOOKING, EntityType.REQUEST);
     }
 
     @Override
     public UserDto getUserById(long id) {
-        userValid(id);
-        return UserMapper.toUserDto(repository.getById(id));
+        return userCache.get(id, key -> {
+            userValid(key);
+            return UserMapper.toUserDto(repository.getById(key));
+        });
+    }
+
+    @Override
+    public List<UserDto> getUsersByIds(Collection<Long> ids) {
+        return userCache.getAll(ids, missing -> UserMapper.toListUserDto(repository.findAllById(missing)));
+    }
+
+    @Override
+    public BatchDto<UserDto> getUsersBatch(Collection<Long> ids) {
+        return BatchMapper.toBatchDto(ids, getUsersByIds(ids), UserDto::getId);
     }
 
     @Transactional
     @Override
     public UserDto updateUser(UserDto userDto, long id) {
-        userValid(id);
-        User user = UserMapper.toUser(userDto);
-        if (userDto.getEmail() == null) {
-            user.setEmail(repository.getById(id).getEmail());
-            userDto.setEmail(repository.getById(id).getEmail());
+        User user = repository.findById(id).orElseThrow(() -> {
+            log.error("Пользователя с id не существует! {}", id);
+            return new NotFoundException("Пользователя с id не существует!");
+        });
+        if (userDto.getEmail() != null) {
+            user.setEmail(userDto.getEmail());
         }
-        if (userDto.getName() == null) {
-            user.setName(repository.getById(id).getName());
-            userDto.setName(repository.getById(id).getName());
+        if (userDto.getName() != null) {
+            user.setName(userDto.getName());
         }
-        user.setId(id);
-        return UserMapper.toUserDto(repository.save(user));
+        userCache.invalidate(id);
+        return UserMapper.toUserDto(user);
     }
 
     private void userValid(long id) {
-        if (!repository.findAll().stream()
-                .map(User::getId)
-                .collect(Collectors.toList())
-                .contains(id)) {
+        if (!existenceIndex.exists(EntityType.USER, id)) {
             log.error("Пользователя с id не существует! {}", id);
             throw new NotFoundException("Пользователя с id не существует!");
         }
@@ -0,0 +1,7 @@
+CREATE ALIAS IF NOT EXISTS FT_INIT FOR "org.h2.fulltext.FullText.init";
+
+CALL FT_INIT();
+
+CALL FT_DROP_INDEX('PUBLIC', 'ITEMS');
+
+CALL FT_CREATE_INDEX('PUBLIC', 'ITEMS', 'NAME,DESCRIPTION');
@@ -0,0 +1,16 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT FROM pg_constraint WHERE conname = ''bookings_approved_no_overlap'') THEN
+        ALTER TABLE bookings ADD CONSTRAINT bookings_approved_no_overlap
+            EXCLUDE USING gist (item_id WITH =, tsrange(start_time, end_time) WITH &&)
+            WHERE (status = ''APPROVED'');
+    END IF;
+END
+';
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', name || ' ' || description)) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_items_search_vector ON items USING gin (search_vector);
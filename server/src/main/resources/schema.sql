@@ -54,3 +54,17 @@ CREATE TABLE IF NOT EXISTS requests
     CONSTRAINT   fk_requests_to_users   FOREIGN KEY (requester_id) REFERENCES users (id) ON DELETE CASCADE
 );
 
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_end ON bookings (booker_id, end_time DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_time ON bookings (item_id, start_time, end_time);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_items_user_id ON items (user_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, created, id);
+
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created, id);
@@ -0,0 +1,51 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingChangedEvent;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BookingIntervalIndexTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final Set<BookingStatus> BUSY = EnumSet.of(BookingStatus.APPROVED, BookingStatus.WAITING);
+
+    /*бронирование подтверждено, пока загружались деревья*/
+    @Test
+    void getTreesWithConcurrentBooking() {
+        BookingRepository repository = mock(BookingRepository.class);
+        BookingIntervalIndex index = new BookingIntervalIndex(repository, 100);
+        Booking booking = makeBooking(1, 1L);
+        when(repository.findAllByItemIdIn(anyCollection())).thenAnswer(invocation -> {
+            index.onBookingChanged(new BookingChangedEvent(booking));
+            return List.of();
+        });
+        when(repository.findAllByItemId(1L)).thenReturn(List.of(booking));
+
+        assertFalse(index.getTrees(List.of(1L, 2L)).get(1L).hasOverlapping(START, START.plusHours(5), BUSY));
+        assertTrue(index.getTree(1L).hasOverlapping(START, START.plusHours(5), BUSY));
+    }
+
+    private static Booking makeBooking(long id, long itemId) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setStart(START.plusHours(1));
+        booking.setEnd(START.plusHours(3));
+        booking.setStatus(BookingStatus.APPROVED);
+        booking.setItemId(itemId);
+        booking.setBookerId(1L);
+        return booking;
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingIntervalTree;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BookingIntervalTreeTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final Set<BookingStatus> BUSY = EnumSet.of(BookingStatus.APPROVED, BookingStatus.WAITING);
+
+    @Test
+    void findOverlapping() {
+        BookingIntervalTree tree = BookingIntervalTree.of(List.of(
+                makeBooking(1, 1, 3, BookingStatus.APPROVED),
+                makeBooking(2, 5, 8, BookingStatus.REJECTED),
+                makeBooking(3, 6, 10, BookingStatus.WAITING)));
+        List<BookingIntervalDto> busy = tree.findOverlapping(START.plusHours(2), START.plusHours(7), BUSY);
+        assertEquals(2, busy.size());
+        assertEquals(START.plusHours(1), busy.get(0).getStart());
+        assertEquals(BookingStatus.WAITING, busy.get(1).getStatus());
+        assertTrue(tree.findOverlapping(START.plusHours(3), START.plusHours(5), BUSY).isEmpty());
+        assertFalse(tree.hasOverlapping(START.plusHours(3), START.plusHours(6), BUSY));
+        assertTrue(tree.hasOverlapping(START.plusHours(3), START.plusHours(7), BUSY));
+    }
+
+    @Test
+    void upsert() {
+        BookingIntervalTree tree = BookingIntervalTree.of(List.of(makeBooking(1, 1, 3, BookingStatus.WAITING)));
+        BookingIntervalTree approved = tree.upsert(1, START.plusHours(1), START.plusHours(3), BookingStatus.REJECTED)
+                .upsert(2, START.plusHours(4), START.plusHours(5), BookingStatus.APPROVED);
+        assertEquals(1, tree.size());
+        assertEquals(2, approved.size());
+        assertTrue(tree.hasOverlapping(START, START.plusHours(2), BUSY));
+        assertFalse(approved.hasOverlapping(START, START.plusHours(2), BUSY));
+        assertTrue(approved.hasOverlapping(START, START.plusHours(5), BUSY));
+    }
+
+    /*даты за пределами 1677-2262 годов*/
+    @Test
+    void findOverlappingWithDistantDates() {
+        LocalDateTime past = LocalDateTime.of(1500, 1, 1, 0, 0);
+        LocalDateTime future = LocalDateTime.of(3000, 1, 1, 0, 0);
+        BookingIntervalTree tree = BookingIntervalTree.of(List.of(makeBooking(1, 1, 3, BookingStatus.APPROVED)))
+                .upsert(2, future, future.plusDays(1), BookingStatus.APPROVED)
+                .upsert(3, past, past.plusDays(1), BookingStatus.APPROVED);
+        List<BookingIntervalDto> busy = tree.findOverlapping(LocalDateTime.MIN, LocalDateTime.MAX, BUSY);
+        assertEquals(List.of(past, START.plusHours(1), future),
+                busy.stream().map(BookingIntervalDto::getStart).collect(Collectors.toList()));
+        assertFalse(tree.hasOverlapping(future.plusDays(1), LocalDateTime.MAX, BUSY));
+        assertTrue(tree.hasOverlapping(future.plusHours(12), future.plusYears(1), BUSY));
+    }
+
+    @Test
+    void findOverlappingSameAsFullScan() {
+        Random random = new Random(42);
+        List<Booking> bookings = new ArrayList<>();
+        BookingIntervalTree tree = BookingIntervalTree.of(List.of());
+        for (int i = 1; i <= 500; i++) {
+            int start = random.nextInt(1000);
+            Booking booking = makeBooking(i, start, start + 1 + random.nextInt(50),
+                    BookingStatus.values()[random.nextInt(BookingStatus.values().length)]);
+            bookings.add(booking);
+            tree = tree.upsert(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus());
+        }
+        BookingIntervalTree built = BookingIntervalTree.of(bookings);
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(1000);
+            LocalDateTime fromTime = START.plusHours(from);
+            LocalDateTime toTime = START.plusHours(from + 1 + random.nextInt(100));
+            List<BookingIntervalDto> expected = bookings.stream()
+                    .filter(b -> BUSY.contains(b.getStatus()))
+                    .filter(b -> b.getStart().isBefore(toTime) && b.getEnd().isAfter(fromTime))
+                    .sorted(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId))
+                    .map(b -> new BookingIntervalDto(b.getStart(), b.getEnd(), b.getStatus()))
+                    .collect(Collectors.toList());
+            assertEquals(expected, tree.findOverlapping(fromTime, toTime, BUSY));
+            assertEquals(expected, built.findOverlapping(fromTime, toTime, BUSY));
+            assertEquals(!expected.isEmpty(), built.hasOverlapping(fromTime, toTime, BUSY));
+        }
+    }
+
+    private static Booking makeBooking(long id, int startHour, int endHour, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setStart(START.plusHours(startHour));
+        booking.setEnd(START.plusHours(endHour));
+        booking.setStatus(status);
+        booking.setItemId(1L);
+        booking.setBookerId(1L);
+        return booking;
+    }
+}
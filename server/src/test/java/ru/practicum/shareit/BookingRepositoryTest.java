@@ -6,7 +6,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.jdbc.core.JdbcTemplate;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -19,7 +21,9 @@ import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 public class BookingRepositoryTest {
@@ -128,6 +132,23 @@ public class BookingRepositoryTest {
         assertEquals(bookings.get(0).getStatus(), targetBooking.get().getStatus());
     }
 
+    @Test
+    void findLastAndNextBookingsByItemIdIn() {
+        LocalDateTime nowTime = LocalDateTime.of(2023, 6, 1, 12, 0);
+        List<ItemBookingView> targetBookings = repository.findLastAndNextBookingsByItemIdIn(List.of(1L, 2L, 5L),
+                nowTime);
+        assertThat(targetBookings, hasSize(4));
+        assertThat(targetBookings, containsInAnyOrder(
+                allOf(hasProperty("itemId", equalTo(1L)), hasProperty("kind", equalTo(ItemBookingView.LAST)),
+                        hasProperty("id", equalTo(4L)), hasProperty("bookerId", equalTo(3L))),
+                allOf(hasProperty("itemId", equalTo(1L)), hasProperty("kind", equalTo(ItemBookingView.NEXT)),
+                        hasProperty("id", equalTo(2L)), hasProperty("bookerId", equalTo(3L))),
+                allOf(hasProperty("itemId", equalTo(2L)), hasProperty("kind", equalTo(ItemBookingView.LAST)),
+                        hasProperty("id", equalTo(5L))),
+                allOf(hasProperty("itemId", equalTo(2L)), hasProperty("kind", equalTo(ItemBookingView.NEXT)),
+                        hasProperty("id", equalTo(3L)))));
+    }
+
     @Test
     void findBookingByUserIdAndItemId() {
         long itemId = 1;
@@ -144,4 +165,17 @@ public class BookingRepositoryTest {
         assertEquals(bookings.get(0).getEnd(), targetBooking.get().getEnd());
         assertEquals(bookings.get(0).getStatus(), targetBooking.get().getStatus());
     }
+
+    @Test
+    void existsOverlappingBooking() {
+        long itemId = 1;
+        assertTrue(repository.existsOverlappingBooking(itemId, BookingStatus.APPROVED,
+                LocalDateTime.of(2024, 3, 9, 12, 30, 54), LocalDateTime.of(2024, 3, 11, 12, 30, 54)));
+        assertFalse(repository.existsOverlappingBooking(itemId, BookingStatus.APPROVED,
+                LocalDateTime.of(2024, 3, 10, 12, 30, 54), LocalDateTime.of(2024, 3, 11, 12, 30, 54)));
+        assertFalse(repository.existsOverlappingBooking(itemId, BookingStatus.APPROVED,
+                LocalDateTime.of(2024, 3, 1, 12, 30, 54), LocalDateTime.of(2024, 3, 8, 12, 30, 54)));
+        assertFalse(repository.existsOverlappingBooking(itemId, BookingStatus.APPROVED,
+                LocalDateTime.of(2021, 2, 5, 12, 30, 54), LocalDateTime.of(2021, 2, 7, 12, 30, 54)));
+    }
 }
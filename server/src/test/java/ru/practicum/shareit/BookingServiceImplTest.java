@@ -1,6 +1,8 @@
 package ru.practicum.shareit;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +13,7 @@ import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.common.BatchDto;
 import ru.practicum.shareit.exceptions.IncorrectParameterException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 
@@ -19,6 +22,7 @@ import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -124,6 +128,22 @@ public class BookingServiceImplTest {
         assertEquals(booking.getStatus(), bookingDtoOut.getStatus());
     }
 
+    /*недоступные пользователю бронирования попадают в список ненайденных*/
+    @Test
+    void getBookingsBatch() {
+        BatchDto<BookingDtoOut> bookerBatch = service.getBookingsBatch(2, List.of(3L, 1L, 100L));
+        assertThat(bookerBatch.getFound(), hasSize(1));
+        assertEquals(1L, bookerBatch.getFound().get(0).getId());
+        assertEquals(2L, bookerBatch.getFound().get(0).getBooker().getId());
+        assertEquals(List.of(3L, 100L), bookerBatch.getMissing());
+
+        BatchDto<BookingDtoOut> ownerBatch = service.getBookingsBatch(1, List.of(6L, 1L, 6L, 100L));
+        assertEquals(List.of(6L, 1L), ownerBatch.getFound().stream()
+                .map(BookingDtoOut::getId)
+                .collect(Collectors.toList()));
+        assertEquals(List.of(100L), ownerBatch.getMissing());
+    }
+
     @Test
     void getALLBookingsByBookerId() {
         long bookerId = 3;
@@ -381,6 +401,73 @@ public class BookingServiceImplTest {
                 });
     }
 
+    /*постраничная выборка по каждому состоянию совпадает с фильтрацией всего списка бронирований*/
+    @Test
+    void getBookingsByStateWithPaging() {
+        long bookerId = 3;
+        long ownerId = 1;
+        TypedQuery<Booking> bookerQuery = em.createQuery("Select b from Booking b where b.bookerId= :bookerId " +
+                "order by b.end desc, b.id desc", Booking.class);
+        List<Booking> bookerBookings = bookerQuery.setParameter("bookerId", bookerId).getResultList();
+        TypedQuery<Booking> ownerQuery = em.createQuery("Select b from Booking b join Item i on b.itemId=i.id " +
+                "where i.userId= :ownerId order by b.end desc, b.id desc", Booking.class);
+        List<Booking> ownerBookings = ownerQuery.setParameter("ownerId", ownerId).getResultList();
+        for (String state : List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED")) {
+            for (long pageFrom = 0; pageFrom < 4; pageFrom++) {
+                long pageSize = 2;
+                assertEquals(filterByState(bookerBookings, state, pageFrom, pageSize),
+                        service.getAllBookingsByBookerId(bookerId, state, pageFrom, pageSize).stream()
+                                .map(BookingDtoOut::getId)
+                                .collect(Collectors.toList()));
+                assertEquals(filterByState(ownerBookings, state, pageFrom, pageSize),
+                        service.getAllBookingsByOwnerId(ownerId, state, pageFrom, pageSize).stream()
+                                .map(BookingDtoOut::getId)
+                                .collect(Collectors.toList()));
+            }
+        }
+    }
+
+    /*число запросов к базе не зависит от размера страницы*/
+    @Test
+    void getAllBookingsByOwnerIdQueryCount() {
+        long ownerId = 1;
+        jdbcTemplate.update("INSERT INTO BOOKINGS VALUES ( 7, '2025-2-1 12:30:54'," +
+                " '2025-3-10 12:30:54', 5, 4, 'WAITING' )");
+        jdbcTemplate.update("INSERT INTO BOOKINGS VALUES ( 8, '2025-4-1 12:30:54'," +
+                " '2025-4-10 12:30:54', 5, 2, 'APPROVED' )");
+        /*первый вызов заполняет индекс существующих пользователей и кэш бронирующих*/
+        service.getAllBookingsByOwnerId(ownerId, "ALL", 0, 8);
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            List<BookingDtoOut> smallPage = service.getAllBookingsByOwnerId(ownerId, "ALL", 0, 1);
+            long smallPageQueries = statistics.getPrepareStatementCount();
+
+            statistics.clear();
+            List<BookingDtoOut> bigPage = service.getAllBookingsByOwnerId(ownerId, "ALL", 0, 8);
+            long bigPageQueries = statistics.getPrepareStatementCount();
+
+            assertEquals(1, smallPage.size());
+            assertEquals(8, bigPage.size());
+            assertEquals(smallPageQueries, bigPageQueries);
+            for (BookingDtoOut bookingDtoOut : bigPage) {
+                assertThat(bookingDtoOut.getBooker(), notNullValue());
+                assertThat(bookingDtoOut.getItem(), notNullValue());
+            }
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void getAllBookingsByBookerIdWithIncorrectState() {
+        assertThrows(IncorrectParameterException.class,
+                () -> {
+                    service.getAllBookingsByBookerId(4, "KHGJKG", from, size);
+                });
+    }
+
     /*попытка забронировать вещь, которой нет в наличии*/
     @Test
     void saveBookingOfItemIsNotAvailable() {
@@ -394,6 +481,35 @@ public class BookingServiceImplTest {
                 });
     }
 
+    /*попытка забронировать вещь на время, пересекающееся с подтвержденным бронированием*/
+    @Test
+    void saveBookingWithOverlap() {
+        long bookerId = 2;
+        long itemId = 1;
+        LocalDateTime bookingStart = LocalDateTime.of(2024, 3, 9, 12, 30, 54);
+        LocalDateTime bookingEnd = LocalDateTime.of(2024, 3, 11, 12, 30, 54);
+        assertThrows(IncorrectParameterException.class,
+                () -> {
+                    service.saveBooking(bookerId, new BookingDtoIn(itemId, bookingStart, bookingEnd));
+                });
+    }
+
+    /*подтверждение бронирования, пересекающегося с уже подтвержденным*/
+    @Test
+    void updateBookingWithOverlap() {
+        long ownerId = 1;
+        long bookingId = 7;
+        jdbcTemplate.update("INSERT INTO BOOKINGS VALUES ( 7, '2024-3-9 12:30:54'," +
+                " '2024-3-12 12:30:54', 1, 4, 'WAITING' )");
+        assertThrows(IncorrectParameterException.class,
+                () -> {
+                    service.updateBooking(ownerId, "true", bookingId);
+                });
+
+        BookingDtoOut bookingDtoOut = service.updateBooking(ownerId, "false", bookingId);
+        assertEquals(BookingStatus.REJECTED, bookingDtoOut.getStatus());
+    }
+
     /*владелец вещи пытается забронировать свою вещь*/
     @Test
     void saveBookingWithIncorrectBooker() {
@@ -455,4 +571,29 @@ public class BookingServiceImplTest {
             service.getBookingById(1, 8);
         });
     }
+
+    private static List<Long> filterByState(List<Booking> bookings, String state, long pageFrom, long pageSize) {
+        LocalDateTime nowTime = LocalDateTime.now();
+        return bookings.stream()
+                .filter(booking -> {
+                    switch (state) {
+                        case "CURRENT":
+                            return booking.getStart().isBefore(nowTime) && booking.getEnd().isAfter(nowTime);
+                        case "PAST":
+                            return booking.getEnd().isBefore(nowTime);
+                        case "FUTURE":
+                            return booking.getStart().isAfter(nowTime);
+                        case "WAITING":
+                            return booking.getStatus().equals(BookingStatus.WAITING);
+                        case "REJECTED":
+                            return booking.getStatus().equals(BookingStatus.REJECTED);
+                        default:
+                            return true;
+                    }
+                })
+                .skip(pageFrom)
+                .limit(pageSize)
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+    }
 }
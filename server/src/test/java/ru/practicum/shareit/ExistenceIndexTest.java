@@ -0,0 +1,112 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.common.EntityType;
+import ru.practicum.shareit.common.ExistenceIndex;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.sql.ResultSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ExistenceIndexTest {
+    private UserRepository userRepository;
+    private ItemRepository itemRepository;
+    private JdbcTemplate jdbcTemplate;
+    private ExistenceIndex index;
+
+    @BeforeEach
+    void createIndex() {
+        userRepository = mock(UserRepository.class);
+        itemRepository = mock(ItemRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        index = new ExistenceIndex(jdbcTemplate, userRepository, itemRepository, mock(BookingRepository.class),
+                mock(ItemRequestRepository.class));
+        when(userRepository.existsById(1L)).thenReturn(true);
+    }
+
+    @Test
+    void exists() {
+        assertTrue(index.exists(EntityType.USER, 1));
+        assertTrue(index.exists(EntityType.USER, 1));
+        verify(userRepository, times(1)).existsById(1L);
+
+        assertFalse(index.exists(EntityType.USER, 2));
+        assertFalse(index.exists(EntityType.USER, 2));
+        verify(userRepository, times(2)).existsById(2L);
+
+        assertFalse(index.exists(EntityType.ITEM, 1));
+    }
+
+    @Test
+    void add() {
+        index.add(EntityType.ITEM, 5);
+        assertTrue(index.exists(EntityType.ITEM, 5));
+        verify(itemRepository, never()).existsById(5L);
+    }
+
+    /*после удаления проверка снова идет в базу*/
+    @Test
+    void remove() {
+        index.exists(EntityType.USER, 1);
+        index.remove(EntityType.USER, 1);
+        when(userRepository.existsById(1L)).thenReturn(false);
+        assertFalse(index.exists(EntityType.USER, 1));
+    }
+
+    /*параллельная проверка вернула бит до коммита удаления*/
+    @Test
+    void removeAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.remove(EntityType.USER, 1);
+            assertTrue(index.exists(EntityType.USER, 1));
+            when(userRepository.existsById(1L)).thenReturn(false);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertFalse(index.exists(EntityType.USER, 1));
+    }
+
+    /*старая загрузка закончилась позже новой и не должна ее затирать*/
+    @Test
+    void staleReloadIsDropped() throws Exception {
+        AtomicInteger reloads = new AtomicInteger();
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            if (reloads.incrementAndGet() == 1) {
+                index.reloadAfterCommit(EntityType.ITEM);
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong(1)).thenReturn(5L);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(eq("select id from items"), any(RowCallbackHandler.class));
+        index.reloadAfterCommit(EntityType.ITEM);
+        assertEquals(2, reloads.get());
+        assertFalse(index.exists(EntityType.ITEM, 5));
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemAutocompleteIndex;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ItemAutocompleteIndexTest {
+    private ItemAutocompleteIndex index;
+
+    @BeforeEach
+    void addItems() {
+        index = new ItemAutocompleteIndex(null, 3);
+        index.onItemChanged(new ItemChangedEvent(null, makeItem(1, "Дрель ударная", true)));
+        index.onItemChanged(new ItemChangedEvent(null, makeItem(2, "Дрель", true)));
+        index.onItemChanged(new ItemChangedEvent(null, makeItem(3, "Дрели набор", true)));
+        index.onItemChanged(new ItemChangedEvent(null, makeItem(4, "Дрезина", true)));
+        index.onItemChanged(new ItemChangedEvent(null, makeItem(5, "Удочка", true)));
+        index.onItemChanged(new ItemChangedEvent(null, makeItem(6, "Дренаж", false)));
+    }
+
+    @Test
+    void suggestOrdersByWeight() {
+        assertEquals(List.of("дрель", "дрезина", "дрели"), index.suggest("др", 10));
+        assertEquals(List.of("дрель", "дрели"), index.suggest(" ДРЕЛ", 10));
+        assertEquals(List.of("дрель"), index.suggest("др", 1));
+        assertEquals(List.of("ударная", "удочка"), index.suggest("у", 10));
+        assertEquals(List.of(), index.suggest("дрен", 10));
+        assertEquals(List.of(), index.suggest("дрельх", 10));
+    }
+
+    @Test
+    void onItemChanged() {
+        index.onItemChanged(new ItemChangedEvent(makeItem(2, "Дрель", true), makeItem(2, "Дрель", false)));
+        index.onItemChanged(new ItemChangedEvent(makeItem(1, "Дрель ударная", true),
+                makeItem(1, "Молоток", true)));
+        assertEquals(List.of("дрезина", "дрели"), index.suggest("др", 10));
+        assertEquals(List.of("молоток"), index.suggest("мол", 10));
+        assertEquals(List.of("удочка"), index.suggest("у", 10));
+
+        index.onItemChanged(new ItemChangedEvent(makeItem(6, "Дренаж", false), makeItem(6, "Дренаж", true)));
+        assertEquals(List.of("дренаж"), index.suggest("дрен", 10));
+    }
+
+    private static Item makeItem(long id, String name, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setUserId(1L);
+        item.setName(name);
+        item.setDescription(name);
+        item.setAvailable(available);
+        return item;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.ItemService;
+
+import javax.transaction.Transactional;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Tag("benchmark")
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemBookingsBenchmarkTest {
+    private static final int BOOKINGS_PER_ITEM = 10;
+    private static final int ROUNDS = 20;
+    private final ItemService service;
+    private final BookingRepository bookingRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1000})
+    void getAllItems(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO USERS VALUES ( 1, 'Иван', 'ivan@mail.ru' )");
+        jdbcTemplate.update("INSERT INTO USERS VALUES ( 2, 'Петр', 'petr@mail.ru' )");
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            ids.add(id);
+            items.add(new Object[]{id, 1, "вещь " + id, "описание", true});
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                LocalDateTime start = now.plusDays(i * 2L - BOOKINGS_PER_ITEM);
+                bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)), id, 2,
+                        "APPROVED"});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO ITEMS (id, user_id, name, description, available) " +
+                "VALUES (?, ?, ?, ?, ?)", items);
+        jdbcTemplate.batchUpdate("INSERT INTO BOOKINGS (start_time, end_time, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?)", bookings);
+
+        long perItemNanos = 0;
+        long batchNanos = 0;
+        long pageNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long started = System.nanoTime();
+            for (Long id : ids) {
+                bookingRepository.findLastBookingByItemId(id, now);
+                bookingRepository.findNextBookingByItemId(id, now);
+            }
+            perItemNanos += System.nanoTime() - started;
+
+            started = System.nanoTime();
+            assertEquals(count * 2, bookingRepository.findLastAndNextBookingsByItemIdIn(ids, now).size());
+            batchNanos += System.nanoTime() - started;
+
+            started = System.nanoTime();
+            assertEquals(10, service.getAllItems(1, count - 10, 10).size());
+            pageNanos += System.nanoTime() - started;
+        }
+        log.info("{} вещей: по два запроса на вещь {} мкс, один запрос {} мкс, страница из 10 вещей {} мкс", count,
+                perItemNanos / ROUNDS / 1_000, batchNanos / ROUNDS / 1_000, pageNanos / ROUNDS / 1_000);
+    }
+}
@@ -7,24 +7,34 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.practicum.shareit.booking.BookingSummary;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.common.CursorCodec;
 import ru.practicum.shareit.exceptions.ForbiddenException;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.IntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -87,7 +97,36 @@ public class ItemControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].name", Matchers.is("дрель")))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].description", Matchers.is("чтоб сверлить")))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].available", Matchers.is(true)))
-                .andExpect(MockMvcResultMatchers.jsonPath("$[1].requestId", Matchers.is(3)));
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].requestId", Matchers.is(3)))
+                .andExpect(header().doesNotExist(CursorCodec.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAllItemsWithCursor() throws Exception {
+        long userId = 1;
+        when(itemService.getAllItemsAfter(1L, 5L, 2L))
+                .thenReturn(itemDtos);
+        mvc.perform(get("/items")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", CursorCodec.encode(5L))
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(2)))
+                .andExpect(header().string(CursorCodec.NEXT_CURSOR_HEADER, CursorCodec.encode(2L)));
+    }
+
+    /*указан курсор, который не выдавал сервер*/
+    @Test
+    void getAllItemsWithIncorrectCursor() throws Exception {
+        long userId = 1;
+        mvc.perform(get("/items")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", "не курсор"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -108,6 +147,50 @@ public class ItemControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.requestId", Matchers.is(1)));
     }
 
+    @Test
+    void getItemByIdWithBookings() throws Exception {
+        long userId = 1;
+        ItemDto itemDto = itemDtos.get(0);
+        itemDto.setLastBooking(new SpelAwareProxyProjectionFactory().createProjection(BookingSummary.class,
+                Map.of("id", 5L, "bookerId", 3L)));
+        when(itemService.getItemById(anyLong(), anyLong()))
+                .thenReturn(itemDto);
+        mvc.perform(get("/items/1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.lastBooking", Matchers.aMapWithSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.lastBooking.id", Matchers.is(5)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.lastBooking.bookerId", Matchers.is(3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextBooking", Matchers.nullValue()));
+    }
+
+    @Test
+    void getItemAvailability() throws Exception {
+        long userId = 1;
+        LocalDateTime from = LocalDateTime.of(2024, 3, 1, 12, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 3, 20, 12, 0, 30);
+        BookingIntervalDto busy = new BookingIntervalDto(LocalDateTime.of(2024, 3, 8, 12, 0),
+                LocalDateTime.of(2024, 3, 10, 12, 0), BookingStatus.APPROVED);
+        when(itemService.getItemAvailability(anyLong(), anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(new ItemAvailabilityDto(1L, from, to, List.of(busy),
+                        List.of(new IntervalDto(from, busy.getStart()), new IntervalDto(busy.getEnd(), to))));
+        mvc.perform(get("/items/1/availability")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.itemId", Matchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.busy", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.busy[0].status", Matchers.is("APPROVED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.free", hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.free[1].end", Matchers.is(to.toString())));
+    }
+
     @Test
     void updateItem() throws Exception {
         long userId = 1;
@@ -150,7 +233,7 @@ public class ItemControllerTest {
         List<ItemDto> itemDtosFound = new ArrayList<>();
         ItemDto itemDto = makeItemDto("камера", "снимать чет там", true, 2);
         itemDtosFound.add(itemDto);
-        when(itemService.searchItems(anyLong(), anyString(), anyLong(), anyLong()))
+        when(itemService.searchItems(anyLong(), anyString(), isNull(), isNull(), anyLong(), anyLong()))
                 .thenReturn(itemDtosFound);
         mvc.perform(get("/items/search")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -165,6 +248,57 @@ public class ItemControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].requestId", Matchers.is(2)));
     }
 
+    @Test
+    void searchItemsRanked() throws Exception {
+        long userId = 1;
+        ItemDto itemDto = makeItemDto("дрель", "сверлить", true, 2);
+        when(itemService.searchItemsRanked(anyLong(), anyString(), isNull(), isNull(), anyLong(), anyLong()))
+                .thenReturn(List.of(itemDto));
+        mvc.perform(get("/items/search")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("text", "дрелб")
+                        .param("ranked", "true"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name", Matchers.is("дрель")));
+    }
+
+    @Test
+    void getAutocomplete() throws Exception {
+        long userId = 1;
+        when(itemService.getAutocomplete(anyLong(), anyString(), anyInt()))
+                .thenReturn(List.of("дрель", "дрезина"));
+        mvc.perform(get("/items/autocomplete")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("prefix", "др")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0]", Matchers.is("дрель")));
+    }
+
+    @Test
+    void getMatchingRequests() throws Exception {
+        long userId = 1;
+        when(itemService.getMatchingRequests(1L, 2L))
+                .thenReturn(List.of(new ItemRequestDtoOut(2L, "нужна штука, чтобы сверлить",
+                        LocalDateTime.of(2023, 1, 12, 12, 30, 54), null)));
+        mvc.perform(get("/items/2/matching-requests")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].description",
+                        Matchers.is("нужна штука, чтобы сверлить")));
+    }
+
     @Test
     void saveComment() throws Exception {
         long userId = 1;
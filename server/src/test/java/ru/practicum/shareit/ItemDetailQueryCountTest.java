@@ -0,0 +1,83 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.persistence.EntityManagerFactory;
+import javax.transaction.Transactional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemDetailQueryCountTest {
+    private static final long MAX_STATEMENTS = 2;
+    private final ItemService service;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void addDate() {
+        jdbcTemplate.update("INSERT INTO USERS VALUES ( 1, 'Иван', 'ivan@mail.ru' )");
+        jdbcTemplate.update("INSERT INTO USERS VALUES ( 2, 'Петр', 'petr@mail.ru' )");
+        jdbcTemplate.update("INSERT INTO USERS VALUES ( 3, 'Вася', 'vase@mail.ru' )");
+
+        jdbcTemplate.update("INSERT INTO ITEMS VALUES ( 1, 1, 'дрель', 'чтоб сверлить', true, null )");
+
+        jdbcTemplate.update("INSERT INTO BOOKINGS VALUES ( 1, '2022-3-8 12:30:54'," +
+                " '2022-3-9 12:30:54', 1, 2, 'APPROVED' )");
+        jdbcTemplate.update("INSERT INTO BOOKINGS VALUES ( 2, '2022-4-8 12:30:54'," +
+                " '2022-4-9 12:30:54', 1, 3, 'APPROVED' )");
+        jdbcTemplate.update("INSERT INTO BOOKINGS VALUES ( 3, '2099-3-8 12:30:54'," +
+                " '2099-3-9 12:30:54', 1, 2, 'WAITING' )");
+
+        jdbcTemplate.update("INSERT INTO COMMENTS VALUES ( 1, 'сверлит', 1, 2, '2022-3-10 12:30:54' )");
+        jdbcTemplate.update("INSERT INTO COMMENTS VALUES ( 2, 'шумная', 1, 3, '2022-4-10 12:30:54' )");
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getItemByIdForOwner() {
+        ItemDto itemDto = service.getItemById(1, 1);
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(MAX_STATEMENTS));
+        assertEquals(2L, itemDto.getLastBooking().getId());
+        assertEquals(3L, itemDto.getLastBooking().getBookerId());
+        assertEquals(3L, itemDto.getNextBooking().getId());
+        assertThat(itemDto.getComments(), hasSize(2));
+        assertEquals("Петр", itemDto.getComments().get(0).getAuthorName());
+    }
+
+    @Test
+    void getItemByIdForBooker() {
+        ItemDto itemDto = service.getItemById(2, 1);
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(MAX_STATEMENTS));
+        assertNull(itemDto.getLastBooking());
+        assertNull(itemDto.getNextBooking());
+        assertNotNull(itemDto.getComments());
+    }
+
+    @Test
+    void getItemByIdNotFound() {
+        assertThrows(NotFoundException.class, () -> service.getItemById(1, 8));
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(1L));
+    }
+}
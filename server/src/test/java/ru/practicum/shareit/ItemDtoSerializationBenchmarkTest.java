@@ -0,0 +1,94 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.BookingSummary;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@Tag("benchmark")
+public class ItemDtoSerializationBenchmarkTest {
+    private static final int ITEMS = 100;
+    private static final int WARMUP_ROUNDS = 500;
+    private static final int ROUNDS = 2000;
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void serializeItems() throws JsonProcessingException {
+        SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+        List<OptionalItemDto> optionalItems = new ArrayList<>();
+        List<ItemDto> items = new ArrayList<>();
+        for (long id = 1; id <= ITEMS; id++) {
+            OptionalItemDto optionalItem = new OptionalItemDto();
+            optionalItem.setId(id);
+            optionalItem.setName("вещь " + id);
+            optionalItem.setDescription("описание");
+            optionalItem.setAvailable(true);
+            optionalItem.setLastBooking(Optional.of(makeBooking(id * 2, id)));
+            optionalItem.setNextBooking(Optional.of(makeBooking(id * 2 + 1, id)));
+            optionalItem.setComments(List.of());
+            optionalItems.add(optionalItem);
+
+            ItemDto item = new ItemDto(id, "вещь " + id, "описание", true,
+                    projectionFactory.createProjection(BookingSummary.class, Map.of("id", id * 2, "bookerId", 2L)),
+                    projectionFactory.createProjection(BookingSummary.class, Map.of("id", id * 2 + 1, "bookerId", 2L)),
+                    List.of(), null);
+            items.add(item);
+        }
+
+        log.info("Размер ответа из {} вещей: Optional<Booking> {} байт, BookingSummary {} байт", ITEMS,
+                mapper.writeValueAsBytes(optionalItems).length, mapper.writeValueAsBytes(items).length);
+        log.info("Сериализация {} вещей: Optional<Booking> {} мкс, BookingSummary {} мкс", ITEMS,
+                measure(optionalItems), measure(items));
+    }
+
+    private long measure(Object value) throws JsonProcessingException {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            mapper.writeValueAsBytes(value);
+        }
+        long started = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            mapper.writeValueAsBytes(value);
+        }
+        return (System.nanoTime() - started) / ROUNDS / 1_000;
+    }
+
+    private static Booking makeBooking(long id, long itemId) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setStart(LocalDateTime.of(2024, 3, 8, 12, 30));
+        booking.setEnd(LocalDateTime.of(2024, 3, 10, 12, 30));
+        booking.setStatus(BookingStatus.APPROVED);
+        booking.setBookerId(2L);
+        booking.setItemId(itemId);
+        return booking;
+    }
+
+    @Data
+    private static class OptionalItemDto {
+        long id;
+        String name;
+        String description;
+        Boolean available;
+        Optional<Booking> lastBooking;
+        Optional<Booking> nextBooking;
+        List<CommentDto> comments;
+        Long requestId;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.ItemRepository;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Transactional
+@SpringBootTest
+@ActiveProfiles("h2-fulltext")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemFullTextSearchTest {
+    private final ItemRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void addDate() {
+        jdbcTemplate.update("INSERT INTO USERS VALUES ( 1, 'Иван', 'ivan@mail.ru' )");
+
+        jdbcTemplate.update("INSERT INTO ITEMS VALUES ( 1, 1, 'метла', 'штука для приборки', true, null )");
+        jdbcTemplate.update("INSERT INTO ITEMS VALUES ( 2, 1, 'дрель', 'чтоб сверлить', true, null )");
+        jdbcTemplate.update("INSERT INTO ITEMS VALUES ( 3, 1, 'дрель ударная', 'сверлить бетон', true, null )");
+        jdbcTemplate.update("INSERT INTO ITEMS VALUES ( 4, 1, 'дрель сломанная', 'не сверлит', false, null )");
+    }
+
+    @Test
+    void searchItemIds() {
+        assertEquals(List.of(2L, 3L), repository.searchItemIds("Дрель"));
+        assertEquals(List.of(2L, 3L), repository.searchItemIds("сверлить"));
+        assertEquals(List.of(3L), repository.searchItemIds("дрель бетон"));
+        assertThat(repository.searchItemIds("пылесос"), empty());
+    }
+}
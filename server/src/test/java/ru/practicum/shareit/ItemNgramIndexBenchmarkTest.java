@@ -0,0 +1,70 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.practicum.shareit.item.ItemNgramIndex;
+import ru.practicum.shareit.item.ItemSearchMode;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Tag("benchmark")
+public class ItemNgramIndexBenchmarkTest {
+    private static final String[] WORDS = {"дрель", "метла", "кофемашина", "сверлить", "бетон", "приборка",
+            "камера", "видео", "штука", "ударная", "лестница", "палатка", "велосипед", "пила", "шуруповерт",
+            "отвертка", "молоток", "гитара", "проектор", "самокат"};
+    private static final String[] QUERIES = {"шуруп", "ель у", "велосипед", "ка для", "гитара пр"};
+    private static final int ROUNDS = 10;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void searchItems(int count) {
+        Random random = new Random(42);
+        long[] ids = new long[count];
+        String[] names = new String[count];
+        String[] descriptions = new String[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i + 1;
+            names[i] = WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(1000);
+            descriptions[i] = WORDS[random.nextInt(WORDS.length)] + " для " + WORDS[random.nextInt(WORDS.length)];
+        }
+
+        ItemNgramIndex index = new ItemNgramIndex(null, ItemSearchMode.NGRAM);
+        long started = System.nanoTime();
+        index.rebuild(ids, names, descriptions);
+        log.info("{} вещей: построение индекса {} мс", count, (System.nanoTime() - started) / 1_000_000);
+
+        long indexNanos = 0;
+        long scanNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (String text : QUERIES) {
+                started = System.nanoTime();
+                int foundByIndex = 0;
+                for (int id : index.findCandidates(text)) {
+                    if (names[id - 1].toLowerCase().contains(text) || descriptions[id - 1].toLowerCase().contains(text)) {
+                        foundByIndex++;
+                    }
+                }
+                indexNanos += System.nanoTime() - started;
+
+                started = System.nanoTime();
+                int foundByScan = 0;
+                for (int i = 0; i < count; i++) {
+                    if (names[i].toLowerCase().contains(text) || descriptions[i].toLowerCase().contains(text)) {
+                        foundByScan++;
+                    }
+                }
+                scanNanos += System.nanoTime() - started;
+
+                assertEquals(foundByScan, foundByIndex);
+            }
+        }
+        int searches = ROUNDS * QUERIES.length;
+        log.info("{} вещей: поиск по индексу {} мкс, полный перебор {} мкс", count,
+                indexNanos / searches / 1_000, scanNanos / searches / 1_000);
+    }
+}
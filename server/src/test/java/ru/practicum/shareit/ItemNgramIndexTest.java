@@ -0,0 +1,110 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemNgramIndex;
+import ru.practicum.shareit.item.ItemSearchMode;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ItemNgramIndexTest {
+    private static final String[] WORDS = {"дрель", "метла", "кофемашина", "сверлить", "бетон", "приборка",
+            "камера", "видео", "штука", "ударная"};
+
+    @Test
+    void findCandidates() {
+        ItemNgramIndex index = new ItemNgramIndex(null, ItemSearchMode.NGRAM);
+        index.rebuild(new long[]{1, 2, 3}, new String[]{"Метла", "Дрель", "Кофемашина"},
+                new String[]{"штука для приборки", "чтоб сверлить", "делать кофе"});
+        assertArrayEquals(new int[]{1}, index.findCandidates("етл"));
+        assertArrayEquals(new int[]{2}, index.findCandidates("сверл"));
+        assertArrayEquals(new int[]{3}, index.findCandidates("КОФЕ"));
+        assertArrayEquals(new int[0], index.findCandidates("пылесос"));
+        assertTrue(index.isReady());
+        assertFalse(ItemNgramIndex.isIndexable("ко"));
+    }
+
+    @Test
+    void onItemChanged() {
+        ItemNgramIndex index = new ItemNgramIndex(null, ItemSearchMode.NGRAM);
+        index.rebuild(new long[0], new String[0], new String[0]);
+        Item item = makeItem(1, "дрель", "чтоб сверлить");
+        index.onItemChanged(new ItemChangedEvent(null, item));
+        assertArrayEquals(new int[]{1}, index.findCandidates("дрел"));
+
+        Item updatedItem = makeItem(1, "перфоратор", "чтоб сверлить");
+        index.onItemChanged(new ItemChangedEvent(item, updatedItem));
+        assertArrayEquals(new int[0], index.findCandidates("дрел"));
+        assertArrayEquals(new int[]{1}, index.findCandidates("перфо"));
+        assertArrayEquals(new int[]{1}, index.findCandidates("сверл"));
+    }
+
+    /*вещь удалена вместе с владельцем*/
+    @Test
+    void onItemChangedWithRemovedItem() {
+        ItemNgramIndex index = new ItemNgramIndex(null, ItemSearchMode.NGRAM);
+        index.rebuild(new long[]{1, 2}, new String[]{"дрель", "дрель ударная"}, new String[]{"чтоб сверлить", "для бетона"});
+        index.onItemChanged(new ItemChangedEvent(makeItem(2, "дрель ударная", "для бетона"), null));
+        assertArrayEquals(new int[]{1}, index.findCandidates("дрел"));
+        assertArrayEquals(new int[0], index.findCandidates("бетон"));
+    }
+
+    /*id вещи не помещается в int*/
+    @Test
+    void onItemChangedWithLargeId() {
+        ItemNgramIndex index = new ItemNgramIndex(null, ItemSearchMode.NGRAM);
+        index.rebuild(new long[0], new String[0], new String[0]);
+        index.onItemChanged(new ItemChangedEvent(null, makeItem(Integer.MAX_VALUE + 1L, "дрель", "чтоб сверлить")));
+        assertArrayEquals(new int[0], index.findCandidates("дрел"));
+        assertFalse(index.isReady());
+    }
+
+    @Test
+    void findCandidatesContainsAllMatches() {
+        Random random = new Random(42);
+        int count = 25_000;
+        long[] ids = new long[count];
+        String[] names = new String[count];
+        String[] descriptions = new String[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = count - i;
+            names[i] = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            descriptions[i] = WORDS[random.nextInt(WORDS.length)];
+        }
+        ItemNgramIndex index = new ItemNgramIndex(null, ItemSearchMode.NGRAM);
+        index.rebuild(ids, names, descriptions);
+        for (String text : new String[]{"рель", "ль м", "бетон", "видео ш", "машина"}) {
+            int[] candidates = index.findCandidates(text);
+            for (int i = 1; i < candidates.length; i++) {
+                assertTrue(candidates[i - 1] < candidates[i]);
+            }
+            long matches = 0;
+            for (int i = 0; i < count; i++) {
+                if (names[i].contains(text) || descriptions[i].contains(text)) {
+                    matches++;
+                    assertTrue(Arrays.binarySearch(candidates, (int) ids[i]) >= 0);
+                }
+            }
+            assertTrue(matches > 0);
+            assertTrue(candidates.length >= matches);
+        }
+        assertEquals(0, index.findCandidates("ббб").length);
+    }
+
+    private static Item makeItem(long id, String name, String description) {
+        Item item = new Item();
+        item.setId(id);
+        item.setUserId(1L);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(true);
+        return item;
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.ItemNgramIndex;
+import ru.practicum.shareit.item.ItemRepository;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Transactional
+@SpringBootTest(properties = "shareit.search.mode=ngram")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemNgramSearchTest {
+    private final ItemRepository repository;
+    private final ItemNgramIndex index;
+    private final JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void addDate() {
+        jdbcTemplate.update("INSERT INTO USERS VALUES ( 1, 'Иван', 'ivan@mail.ru' )");
+
+        jdbcTemplate.update("INSERT INTO ITEMS VALUES ( 1, 1, 'метла', 'штука для приборки', true, null )");
+        jdbcTemplate.update("INSERT INTO ITEMS VALUES ( 2, 1, 'дрель', 'чтоб сверлить', true, null )");
+        jdbcTemplate.update("INSERT INTO ITEMS VALUES ( 3, 1, 'дрель ударная', 'сверлить бетон', true, null )");
+        jdbcTemplate.update("INSERT INTO ITEMS VALUES ( 4, 1, 'дрель сломанная', 'не сверлит', false, null )");
+        index.rebuild();
+    }
+
+    @Test
+    void searchItemIds() {
+        assertEquals(List.of(2L, 3L), repository.searchItemIds("ДрЕл"));
+        assertEquals(List.of(2L, 3L), repository.searchItemIds("сверл"));
+        assertEquals(List.of(3L), repository.searchItemIds("ль у"));
+        assertEquals(List.of(1L), repository.searchItemIds("етл"));
+        assertThat(repository.searchItemIds("ль бетон"), empty());
+        assertEquals(List.of(1L), repository.searchItemIds("ме"));
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemRankIndex;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class ItemRankIndexTest {
+    private ItemRankIndex index;
+
+    @BeforeEach
+    void addItems() {
+        index = new ItemRankIndex(null);
+        index.onItemChanged(new ItemChangedEvent(null, makeItem(1, "Перфоратор", "лучше чем дрель", true)));
+        index.onItemChanged(new ItemChangedEvent(null, makeItem(2, "Дрель ударная", "для бетона", true)));
+        index.onItemChanged(new ItemChangedEvent(null, makeItem(3, "Дрель", "сломана", false)));
+        index.onItemChanged(new ItemChangedEvent(null, makeItem(4, "Отвертка", "крестовая", true)));
+    }
+
+    @Test
+    void searchRanksNameAboveDescription() {
+        assertEquals(List.of(2L, 1L), index.search("дрель", 10, id -> true));
+        assertEquals(List.of(2L), index.search("дрель", 1, id -> true));
+        assertEquals(List.of(1L), index.search("дрель", 10, id -> id != 2));
+        assertArrayEquals(new int[]{1, 2}, index.findMatches("дрель"));
+    }
+
+    @Test
+    void searchWithTypos() {
+        assertEquals(List.of(2L, 1L), index.search("дрелб", 10, id -> true));
+        assertEquals(List.of(1L), index.search("пирфаратор", 10, id -> true));
+        assertEquals(List.of(), index.search("кот", 10, id -> true));
+    }
+
+    @Test
+    void onItemChanged() {
+        Item item = makeItem(2, "Дрель ударная", "для бетона", true);
+        index.onItemChanged(new ItemChangedEvent(item, makeItem(2, "Молоток", "тяжелый", true)));
+        assertEquals(List.of(1L), index.search("дрель", 10, id -> true));
+        assertEquals(List.of(2L), index.search("молоток", 10, id -> true));
+
+        Item hiddenItem = makeItem(4, "Отвертка", "крестовая", true);
+        index.onItemChanged(new ItemChangedEvent(hiddenItem, makeItem(4, "Отвертка", "крестовая", false)));
+        assertEquals(List.of(), index.search("отвертка", 10, id -> true));
+    }
+
+    /*вещь удалена вместе с владельцем*/
+    @Test
+    void onItemChangedWithRemovedItem() {
+        index.onItemChanged(new ItemChangedEvent(makeItem(2, "Дрель ударная", "для бетона", true), null));
+        assertEquals(List.of(1L), index.search("дрель", 10, id -> true));
+        assertEquals(List.of(), index.search("бетона", 10, id -> true));
+    }
+
+    @Test
+    void onItemChangedWithLargeId() {
+        index.onItemChanged(new ItemChangedEvent(null, makeItem(Integer.MAX_VALUE, "Дрель", "большая", true)));
+        assertEquals(List.of(2L, 1L), index.search("дрель", 10, id -> true));
+        assertFalse(index.isReady());
+    }
+
+    private static Item makeItem(long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setUserId(1L);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.practicum.shareit.common.CursorCodec;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.ItemRequestController;
 import ru.practicum.shareit.request.ItemRequestService;
@@ -25,6 +26,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemRequestController.class)
@@ -121,6 +123,36 @@ public class ItemRequestControllerTest {
                         Matchers.is(itemRequestDtoOuts.get(1).getCreated().toString())));
     }
 
+    @Test
+    void getAllItemRequestWithCursor() throws Exception {
+        long userId = 1;
+        LocalDateTime created = LocalDateTime.of(2023, 1, 5, 10, 0);
+        when(itemRequestService.getAllItemRequestAfter(1L, created, 3L, 2L))
+                .thenReturn(itemRequestDtoOuts);
+        mvc.perform(get("/requests/all")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", CursorCodec.encode(created, 3L))
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(2)))
+                .andExpect(header().string(CursorCodec.NEXT_CURSOR_HEADER,
+                        CursorCodec.encode(itemRequestDtoOuts.get(1).getCreated(), 2L)));
+    }
+
+    /*указан курсор без времени создания запроса*/
+    @Test
+    void getAllItemRequestWithIncorrectCursor() throws Exception {
+        long userId = 1;
+        mvc.perform(get("/requests/all")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", CursorCodec.encode("вчера", 3L)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getItemRequestById() throws Exception {
         long userId = 1;
@@ -139,6 +171,24 @@ public class ItemRequestControllerTest {
                         Matchers.is(itemRequestDtoOuts.get(1).getCreated().toString())));
     }
 
+    @Test
+    void getSuggestions() throws Exception {
+        long userId = 1;
+        ItemDto item = new ItemDto();
+        item.setId(2);
+        item.setName("дрель");
+        when(itemRequestService.getSuggestions(1L, 2L))
+                .thenReturn(List.of(item));
+        mvc.perform(get("/requests/2/suggestions")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name", Matchers.is("дрель")));
+    }
+
     private ItemRequestDtoOut makeItemRequestOut(Long id, String description, LocalDateTime created) {
         ItemRequestDtoOut itemRequestDtoOut = new ItemRequestDtoOut();
         itemRequestDtoOut.setId(id);
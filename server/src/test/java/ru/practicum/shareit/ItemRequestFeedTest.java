@@ -0,0 +1,117 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.request.ItemRequestController;
+import ru.practicum.shareit.request.ItemRequestFeed;
+import ru.practicum.shareit.request.ItemRequestSavedEvent;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+public class ItemRequestFeedTest {
+    private ItemRequestFeed feed;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void createFeed() {
+        feed = new ItemRequestFeed(2, 60_000, 1, 100);
+        ItemRequestService service = mock(ItemRequestService.class);
+        when(service.getItemRequestStream(anyLong()))
+                .thenAnswer(invocation -> feed.subscribe(invocation.getArgument(0)));
+        mvc = MockMvcBuilders.standaloneSetup(new ItemRequestController(service)).build();
+    }
+
+    @AfterEach
+    void shutdown() {
+        feed.shutdown();
+    }
+
+    /*пользователь получает только чужие запросы*/
+    @Test
+    void onItemRequestSaved() throws Exception {
+        MvcResult result = mvc.perform(get("/requests/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        feed.onItemRequestSaved(new ItemRequestSavedEvent(makeItemRequest(1, 1, "нужна штука, чтобы летать")));
+        feed.onItemRequestSaved(new ItemRequestSavedEvent(makeItemRequest(2, 2, "нужна штука, чтобы сверлить")));
+        String content = awaitContent(result, "сверлить");
+        assertThat(content, containsString("id:2"));
+        assertThat(content, containsString("event:" + ItemRequestFeed.EVENT_NAME));
+        assertThat(content, not(containsString("летать")));
+    }
+
+    /*зависший подписчик отключается и не задерживает остальных*/
+    @Test
+    void onItemRequestSavedWithStuckSubscriber() throws Exception {
+        SseEmitter stuck = feed.subscribe(1);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            synchronized (stuck) {
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        holder.start();
+        try {
+            locked.await();
+            MvcResult result = mvc.perform(get("/requests/stream")
+                            .accept(MediaType.TEXT_EVENT_STREAM)
+                            .header("X-Sharer-User-Id", 3))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            feed.onItemRequestSaved(new ItemRequestSavedEvent(makeItemRequest(1, 2, "нужна штука, чтобы летать")));
+            Thread.sleep(300);
+            feed.onItemRequestSaved(new ItemRequestSavedEvent(makeItemRequest(2, 2, "нужна штука, чтобы сверлить")));
+            String content = awaitContent(result, "сверлить");
+            assertThat(content, containsString("летать"));
+            assertThat(content, containsString("сверлить"));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        String content = "";
+        for (int attempt = 0; attempt < 50 && !content.contains(expected); attempt++) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        }
+        return content;
+    }
+
+    private static ItemRequest makeItemRequest(long id, long requesterId, String description) {
+        ItemRequest itemRequest = new ItemRequest();
+        itemRequest.setId(id);
+        itemRequest.setRequesterId(requesterId);
+        itemRequest.setDescription(description);
+        itemRequest.setCreated(LocalDateTime.of(2023, 1, 12, 12, 30, 54));
+        return itemRequest;
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestMatcher;
+import ru.practicum.shareit.request.ItemRequestSavedEvent;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ItemRequestMatcherTest {
+    private ItemRequestMatcher matcher;
+
+    @BeforeEach
+    void addRequests() {
+        matcher = new ItemRequestMatcher(null, 10, 0.5);
+        matcher.onItemRequestSaved(new ItemRequestSavedEvent(makeItemRequest(1, 2, "нужна штука, чтобы делать чисто")));
+        matcher.onItemRequestSaved(new ItemRequestSavedEvent(makeItemRequest(2, 3, "нужна штука, чтобы сверлить")));
+        matcher.onItemRequestSaved(new ItemRequestSavedEvent(makeItemRequest(3, 3, "нужна штука, чтобы варить кофе")));
+        matcher.onItemRequestSaved(new ItemRequestSavedEvent(makeItemRequest(4, 2, "нужна штука, чтобы летать")));
+    }
+
+    @Test
+    void onItemSaved() {
+        matcher.onItemChanged(new ItemChangedEvent(null, makeItem(1, 1, "Дрель", "чтоб сверлить", true)));
+        matcher.onItemChanged(new ItemChangedEvent(null, makeItem(2, 1, "Шуруповерт", "тоже сверлит", true)));
+        matcher.onItemChanged(new ItemChangedEvent(null, makeItem(3, 1, "Метла", "штука для дома", true)));
+        assertEquals(List.of(2L), matcher.getRequestIds(1));
+        assertEquals(List.of(2L), matcher.getRequestIds(2));
+        assertEquals(List.of(), matcher.getRequestIds(3));
+        assertEquals(List.of(1L, 2L), matcher.getItemIds(2));
+    }
+
+    /*вещь не предлагается под запросы ее владельца*/
+    @Test
+    void onItemSavedByRequester() {
+        matcher.onItemChanged(new ItemChangedEvent(null, makeItem(1, 3, "Кофемашина", "варит кофе", true)));
+        matcher.onItemChanged(new ItemChangedEvent(null, makeItem(2, 1, "Кофеварка", "для кофе", true)));
+        assertEquals(List.of(), matcher.getRequestIds(1));
+        assertEquals(List.of(2L), matcher.getItemIds(3));
+    }
+
+    /*новый запрос находит уже добавленные вещи*/
+    @Test
+    void onItemRequestSaved() {
+        matcher.onItemChanged(new ItemChangedEvent(null, makeItem(1, 1, "Кофемашина", "варит кофе", true)));
+        matcher.onItemRequestSaved(new ItemRequestSavedEvent(makeItemRequest(5, 2, "ищу кофеварку")));
+        assertEquals(List.of(1L), matcher.getItemIds(5));
+        assertEquals(List.of(3L, 5L), matcher.getRequestIds(1));
+    }
+
+    @Test
+    void onItemChanged() {
+        Item drill = makeItem(1, 1, "Дрель", "чтоб сверлить", true);
+        matcher.onItemChanged(new ItemChangedEvent(null, drill));
+        Item unavailable = makeItem(1, 1, "Дрель", "чтоб сверлить", false);
+        matcher.onItemChanged(new ItemChangedEvent(drill, unavailable));
+        assertEquals(List.of(), matcher.getItemIds(2));
+
+        matcher.onItemChanged(new ItemChangedEvent(unavailable, makeItem(1, 1, "Дрон", "умеет летать", true)));
+        assertEquals(List.of(4L), matcher.getRequestIds(1));
+        assertEquals(List.of(), matcher.getItemIds(2));
+    }
+
+    private static Item makeItem(long id, long userId, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setUserId(userId);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+
+    private static ItemRequest makeItemRequest(long id, long requesterId, String description) {
+        ItemRequest itemRequest = new ItemRequest();
+        itemRequest.setId(id);
+        itemRequest.setRequesterId(requesterId);
+        itemRequest.setDescription(description);
+        return itemRequest;
+    }
+}
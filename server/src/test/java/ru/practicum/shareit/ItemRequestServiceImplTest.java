@@ -15,6 +15,7 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.allOf;
@@ -109,6 +110,37 @@ public class ItemRequestServiceImplTest {
         }
     }
 
+    /*запросы с одинаковым временем создания упорядочены по id*/
+    @Test
+    void getAllItemRequestAfter() {
+        long userId = 1;
+        jdbcTemplate.update("INSERT INTO REQUESTS VALUES ( 6, 'нужна штука, чтобы пилить', 2, " +
+                "'2023-1-12 12:30:54' )");
+        List<ItemRequestDtoOut> firstPage = service.getAllItemRequest(userId, 0, 2);
+        assertThat(firstPage, contains(hasProperty("id", equalTo(1L)), hasProperty("id", equalTo(2L))));
+        ItemRequestDtoOut last = firstPage.get(1);
+        List<ItemRequestDtoOut> secondPage = service.getAllItemRequestAfter(userId, last.getCreated(), last.getId(), 2);
+        assertThat(secondPage, contains(hasProperty("id", equalTo(6L)), hasProperty("id", equalTo(3L))));
+        assertThat(service.getAllItemRequest(userId, 2, 2), equalTo(secondPage));
+        assertThat(service.getAllItemRequestAfter(3, LocalDateTime.of(2023, 1, 17, 12, 30, 54), 5, 2), empty());
+    }
+
+    @Test
+    void getAllItemRequestWithItems() {
+        jdbcTemplate.update("INSERT INTO ITEMS VALUES ( 4, 1, 'шуруповерт', 'тоже сверлит', true, 3 )");
+        List<ItemRequestDtoOut> itemRequestDtoOuts = service.getAllItemRequestByRequesterId(3);
+        assertThat(itemRequestDtoOuts, hasItem(allOf(
+                hasProperty("id", equalTo(3L)),
+                hasProperty("items", containsInAnyOrder(hasProperty("id", equalTo(2L)),
+                        hasProperty("id", equalTo(4L))))
+        )));
+        assertThat(itemRequestDtoOuts, hasItem(allOf(
+                hasProperty("id", equalTo(2L)),
+                hasProperty("items", empty())
+        )));
+        assertThat(service.getItemRequestById(1, 5L).getItems(), contains(hasProperty("name", equalTo("кофемашина"))));
+    }
+
     @Test
     void getItemRequestById() {
         long userId = 1;
@@ -0,0 +1,99 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingIntervalTree;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Tag("benchmark")
+public class ItemSearchBenchmarkTest {
+    private static final int ITEMS = 100_000;
+    private static final int BOOKINGS = 1_000_000;
+    private static final int ROUNDS = 20;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final Set<BookingStatus> BUSY = EnumSet.of(BookingStatus.APPROVED, BookingStatus.WAITING);
+
+    @Test
+    void searchFreeItems() {
+        Random random = new Random(42);
+        Map<Long, List<Booking>> bookings = new HashMap<>();
+        for (long id = 1; id <= BOOKINGS; id++) {
+            Booking booking = new Booking();
+            booking.setId(id);
+            booking.setItemId(1L + random.nextInt(ITEMS));
+            booking.setBookerId(1L);
+            booking.setStart(START.plusHours(random.nextInt(24 * 365)));
+            booking.setEnd(booking.getStart().plusHours(1 + random.nextInt(72)));
+            booking.setStatus(BookingStatus.values()[random.nextInt(BookingStatus.values().length)]);
+            bookings.computeIfAbsent(booking.getItemId(), itemId -> new ArrayList<>()).add(booking);
+        }
+
+        long buildStarted = System.nanoTime();
+        Map<Long, BookingIntervalTree> trees = new HashMap<>();
+        bookings.forEach((itemId, itemBookings) -> trees.put(itemId, BookingIntervalTree.of(itemBookings)));
+        log.info("Построение индекса: {} мс", (System.nanoTime() - buildStarted) / 1_000_000);
+
+        long indexNanos = 0;
+        long scanNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            LocalDateTime from = START.plusHours(random.nextInt(24 * 365));
+            LocalDateTime to = from.plusDays(2);
+
+            long started = System.nanoTime();
+            int freeByIndex = 0;
+            for (long itemId = 1; itemId <= ITEMS; itemId++) {
+                BookingIntervalTree tree = trees.get(itemId);
+                if (tree == null || !tree.hasOverlapping(from, to, BUSY)) {
+                    freeByIndex++;
+                }
+            }
+            indexNanos += System.nanoTime() - started;
+
+            started = System.nanoTime();
+            int freeByScan = 0;
+            for (long itemId = 1; itemId <= ITEMS; itemId++) {
+                boolean busy = false;
+                for (Booking booking : bookings.getOrDefault(itemId, List.of())) {
+                    if (BUSY.contains(booking.getStatus()) && booking.getStart().isBefore(to)
+                            && booking.getEnd().isAfter(from)) {
+                        busy = true;
+                        break;
+                    }
+                }
+                if (!busy) {
+                    freeByScan++;
+                }
+            }
+            scanNanos += System.nanoTime() - started;
+
+            assertEquals(freeByScan, freeByIndex);
+        }
+        log.info("Поиск свободных вещей среди {} вещей и {} бронирований: индекс {} мс, перебор {} мс",
+                ITEMS, BOOKINGS, indexNanos / ROUNDS / 1_000_000, scanNanos / ROUNDS / 1_000_000);
+
+        long upsertStarted = System.nanoTime();
+        for (long id = BOOKINGS + 1; id <= BOOKINGS + 10_000; id++) {
+            long bookingId = id;
+            long itemId = 1L + random.nextInt(ITEMS);
+            LocalDateTime start = START.plusHours(random.nextInt(24 * 365));
+            trees.compute(itemId, (key, tree) -> (tree == null ? BookingIntervalTree.of(List.of()) : tree)
+                    .upsert(bookingId, start, start.plusHours(24), BookingStatus.WAITING));
+        }
+        log.info("Инкрементальное обновление индекса: {} мкс на бронирование",
+                (System.nanoTime() - upsertStarted) / 10_000 / 1_000);
+    }
+}
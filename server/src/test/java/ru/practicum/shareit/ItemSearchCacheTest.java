@@ -0,0 +1,84 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchCache;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ItemSearchCacheTest {
+    private ItemRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+    private ItemSearchCache cache;
+
+    @BeforeEach
+    void createCache() {
+        repository = mock(ItemRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemSearchCache(repository, meterRegistry, 1000);
+        when(repository.searchItemIds("дрель"))
+                .thenReturn(List.of(1L, 3L));
+        when(repository.searchItemIds("метла"))
+                .thenReturn(List.of(2L));
+    }
+
+    @Test
+    void getIds() {
+        assertEquals(List.of(1L, 3L), cache.getIds("Дрель"));
+        assertEquals(List.of(1L, 3L), cache.getIds("дрель"));
+        assertEquals(List.of(), cache.getIds(" "));
+        verify(repository, times(1)).searchItemIds("дрель");
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "itemSearch").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    /*изменилось описание вещи, найденной по запросу "дрель"*/
+    @Test
+    void onItemChanged() {
+        cache.getIds("дрель");
+        cache.getIds("метла");
+        cache.onItemChanged(new ItemChangedEvent(makeItem(3, "Перфоратор", "дрель", true),
+                makeItem(3, "Перфоратор", "мощный", true)));
+        cache.getIds("дрель");
+        cache.getIds("метла");
+        verify(repository, times(2)).searchItemIds("дрель");
+        verify(repository, times(1)).searchItemIds("метла");
+    }
+
+    /*новые вещи сбрасывают только запросы, под которые они подходят*/
+    @Test
+    void onItemSaved() {
+        cache.getIds("дрель");
+        cache.getIds("метла");
+        cache.onItemChanged(new ItemChangedEvent(null, makeItem(4, "Веник", "для дома", true)));
+        cache.onItemChanged(new ItemChangedEvent(null, makeItem(5, "Метла", "сломана", false)));
+        cache.getIds("дрель");
+        cache.getIds("метла");
+        verify(repository, times(1)).searchItemIds("дрель");
+        verify(repository, times(1)).searchItemIds("метла");
+
+        cache.onItemChanged(new ItemChangedEvent(null, makeItem(6, "Метла", "новая", true)));
+        cache.getIds("метла");
+        verify(repository, times(2)).searchItemIds("метла");
+    }
+
+    private static Item makeItem(long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setUserId(1L);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
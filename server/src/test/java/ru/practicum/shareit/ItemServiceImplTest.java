@@ -1,22 +1,28 @@
 package ru.practicum.shareit;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.common.BatchDto;
 import ru.practicum.shareit.exceptions.ForbiddenException;
 import ru.practicum.shareit.exceptions.IncorrectParameterException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,6 +40,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 public class ItemServiceImplTest {
     private final EntityManager em;
     private final ItemService service;
+    private final ItemRankIndex rankIndex;
     private final JdbcTemplate jdbcTemplate;
     private final long from = 0;
     private final long size = 10;
@@ -87,6 +94,31 @@ public class ItemServiceImplTest {
         }
     }
 
+    @Test
+    void getAllItemsAfter() {
+        long userId = 1;
+        jdbcTemplate.update("INSERT INTO ITEMS VALUES ( 4, 1, 'пила', 'для дров', true, null )");
+        List<ItemDto> firstPage = service.getAllItems(userId, 0, 2);
+        assertThat(firstPage, contains(hasProperty("id", equalTo(1L)), hasProperty("id", equalTo(2L))));
+        List<ItemDto> secondPage = service.getAllItemsAfter(userId, firstPage.get(1).getId(), 2);
+        assertThat(secondPage, contains(hasProperty("id", equalTo(4L))));
+        assertThat(service.getAllItemsAfter(userId, 4, 2), empty());
+    }
+
+    @Test
+    void getAllItemsWithComments() {
+        jdbcTemplate.update("INSERT INTO COMMENTS VALUES ( 1, 'хорошая метла', 1, 2, '2022-3-10 12:30:54' )");
+        jdbcTemplate.update("INSERT INTO COMMENTS VALUES ( 2, 'сверлит', 2, 3, '2022-3-10 12:30:54' )");
+        jdbcTemplate.update("INSERT INTO COMMENTS VALUES ( 3, 'шумная', 2, 2, '2022-3-11 12:30:54' )");
+        List<ItemDto> targetItems = service.getAllItems(1, from, size);
+        assertThat(targetItems, hasSize(2));
+        assertThat(targetItems.get(0).getComments(), contains(hasProperty("authorName", equalTo("Петр"))));
+        assertThat(targetItems.get(1).getComments(), contains(
+                allOf(hasProperty("text", equalTo("сверлит")), hasProperty("authorName", equalTo("Вася"))),
+                allOf(hasProperty("text", equalTo("шумная")), hasProperty("authorName", equalTo("Петр")))));
+        assertThat(service.getAllItems(3, from, size).get(0).getComments(), empty());
+    }
+
     @Test
     void getItemById() {
         long userId = 1;
@@ -118,28 +150,138 @@ public class ItemServiceImplTest {
         assertEquals(commentDtos.get(0).getText(), itemDto.getComments().get(0).getText());
     }
 
+    /*бронирования видны только владельцу вещи*/
+    @Test
+    void getItemsBatch() {
+        BatchDto<ItemDto> ownerBatch = service.getItemsBatch(1, List.of(3L, 2L, 7L, 3L));
+        assertThat(ownerBatch.getFound(), hasSize(2));
+        assertEquals(3, ownerBatch.getFound().get(0).getId());
+        assertEquals(2, ownerBatch.getFound().get(1).getId());
+        assertThat(ownerBatch.getFound().get(0).getLastBooking(), nullValue());
+        assertEquals(1L, ownerBatch.getFound().get(1).getLastBooking().getId());
+        assertThat(ownerBatch.getFound().get(1).getComments(), empty());
+        assertEquals(List.of(7L), ownerBatch.getMissing());
+
+        BatchDto<ItemDto> bookerBatch = service.getItemsBatch(3, List.of(2L));
+        assertThat(bookerBatch.getFound().get(0).getLastBooking(), nullValue());
+        assertThat(bookerBatch.getMissing(), empty());
+    }
+
     @Test
     void searchItems() {
         long userId = 1;
         String text1 = "еТл";
         String text2 = "СверЛ";
         String text3 = "коф";
-        List<ItemDto> targetItems1 = service.searchItems(userId, text1, from, size);
+        List<ItemDto> targetItems1 = service.searchItems(userId, text1, null, null, from, size);
         TypedQuery<Item> query1 = em.createQuery("Select i from Item i where i.id= 1", Item.class);
         Item item = query1.getSingleResult();
         assertEquals(targetItems1.get(0).getId(), item.getId());
 
-        List<ItemDto> targetItems2 = service.searchItems(userId, text2, from, size);
+        List<ItemDto> targetItems2 = service.searchItems(userId, text2, null, null, from, size);
         TypedQuery<Item> query2 = em.createQuery("Select i from Item i where i.id= 2", Item.class);
         item = query2.getSingleResult();
         assertEquals(targetItems2.get(0).getId(), item.getId());
 
-        List<ItemDto> targetItems3 = service.searchItems(userId, text3, from, size);
+        List<ItemDto> targetItems3 = service.searchItems(userId, text3, null, null, from, size);
         TypedQuery<Item> query3 = em.createQuery("Select i from Item i where i.id= 3", Item.class);
         item = query3.getSingleResult();
         assertEquals(targetItems3.get(0).getId(), item.getId());
     }
 
+    @Test
+    void searchItemsWithPaging() {
+        long userId = 1;
+        jdbcTemplate.update("INSERT INTO ITEMS VALUES ( 4, 2, 'дрель сломанная', 'не сверлит', false, null )");
+        jdbcTemplate.update("INSERT INTO ITEMS VALUES ( 5, 2, 'дрель ударная', 'сверлит бетон', true, null )");
+        List<ItemDto> targetItems = service.searchItems(userId, "ДРЕЛЬ", null, null, from, size);
+        assertThat(targetItems, hasSize(2));
+        assertEquals(2, targetItems.get(0).getId());
+        assertEquals(5, targetItems.get(1).getId());
+
+        List<ItemDto> secondPage = service.searchItems(userId, "дрель", null, null, 1, 1);
+        assertThat(secondPage, hasSize(1));
+        assertEquals(5, secondPage.get(0).getId());
+
+        assertThat(service.searchItems(userId, "%", null, null, from, size), empty());
+        assertThat(service.searchItems(userId, " ", null, null, from, size), empty());
+    }
+
+    @Test
+    void searchItemsFreeInPeriod() {
+        long userId = 1;
+        String text = "СверЛ";
+        LocalDateTime start = LocalDateTime.of(2022, 3, 9, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2022, 3, 11, 0, 0);
+        List<ItemDto> busyItems = service.searchItems(userId, text, start, end, from, size);
+        assertThat(busyItems, empty());
+
+        List<ItemDto> freeItems = service.searchItems(userId, text, end, end.plusDays(2), from, size);
+        assertThat(freeItems, hasSize(1));
+        assertEquals(2, freeItems.get(0).getId());
+    }
+
+    @Test
+    void searchItemsRanked() {
+        long userId = 1;
+        jdbcTemplate.update("INSERT INTO ITEMS VALUES ( 4, 2, 'перфоратор', 'сверлить лучше чем дрель', true, null )");
+        rankIndex.rebuild();
+        List<ItemDto> targetItems = service.searchItemsRanked(userId, "сверлит дрель", null, null, from, size);
+        assertThat(targetItems, hasSize(2));
+        assertEquals(2, targetItems.get(0).getId());
+        assertEquals(4, targetItems.get(1).getId());
+
+        List<ItemDto> secondPage = service.searchItemsRanked(userId, "дрел", null, null, 1, 1);
+        assertThat(secondPage, hasSize(1));
+        assertEquals(4, secondPage.get(0).getId());
+
+        LocalDateTime start = LocalDateTime.of(2022, 3, 9, 0, 0);
+        List<ItemDto> freeItems = service.searchItemsRanked(userId, "дрель", start, start.plusDays(1), from, size);
+        assertThat(freeItems, hasSize(1));
+        assertEquals(4, freeItems.get(0).getId());
+    }
+
+    /*указано только начало периода поиска*/
+    @Test
+    void searchItemsWithoutEnd() {
+        assertThrows(IncorrectParameterException.class, () -> {
+            service.searchItems(1, "дрель", LocalDateTime.of(2022, 3, 9, 0, 0), null, from, size);
+        });
+    }
+
+    @Test
+    void getItemAvailability() {
+        long userId = 3;
+        long itemId = 2;
+        LocalDateTime from = LocalDateTime.of(2022, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2022, 4, 1, 0, 0);
+        ItemAvailabilityDto availability = service.getItemAvailability(userId, itemId, from, to);
+        TypedQuery<Booking> query = em.createQuery("Select b from Booking b where b.itemId= :itemId", Booking.class);
+        Booking booking = query.setParameter("itemId", itemId).getSingleResult();
+        assertThat(availability.getBusy(), hasSize(1));
+        assertEquals(booking.getStart(), availability.getBusy().get(0).getStart());
+        assertEquals(booking.getEnd(), availability.getBusy().get(0).getEnd());
+        assertEquals(booking.getStatus(), availability.getBusy().get(0).getStatus());
+        assertThat(availability.getFree(), hasSize(2));
+        assertEquals(from, availability.getFree().get(0).getStart());
+        assertEquals(booking.getStart(), availability.getFree().get(0).getEnd());
+        assertEquals(booking.getEnd(), availability.getFree().get(1).getStart());
+        assertEquals(to, availability.getFree().get(1).getEnd());
+
+        ItemAvailabilityDto freeAvailability = service.getItemAvailability(userId, itemId, to, to.plusDays(1));
+        assertThat(freeAvailability.getBusy(), empty());
+        assertThat(freeAvailability.getFree(), hasSize(1));
+    }
+
+    /*начало периода занятости позже его окончания*/
+    @Test
+    void getItemAvailabilityWithIncorrectPeriod() {
+        LocalDateTime from = LocalDateTime.of(2022, 3, 1, 0, 0);
+        assertThrows(IncorrectParameterException.class, () -> {
+            service.getItemAvailability(1, 2, from, from.minusDays(1));
+        });
+    }
+
     @Test
     void updateItem() {
         long userId = 1;
@@ -173,6 +315,30 @@ public class ItemServiceImplTest {
     }
 
     /*попытка изменить вещь пользователем, который не является ее владельцем*/
+    /*обновление меняет только переданные поля и не затирает чужие изменения*/
+    @Test
+    void updateItemOnlyChangedColumns() {
+        long userId = 1;
+        long itemId = 1;
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            ItemDto itemDto = service.updateItem(userId, makeItemDto("веник", null, null, null), itemId);
+            jdbcTemplate.update("UPDATE ITEMS SET DESCRIPTION = 'для уборки' WHERE ID = 1");
+            em.flush();
+            assertEquals(1, statistics.getEntityLoadCount());
+            assertEquals(1, statistics.getEntityUpdateCount());
+            assertEquals("веник", itemDto.getName());
+            assertEquals("штука для приборки", itemDto.getDescription());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+        assertEquals("для уборки", jdbcTemplate.queryForObject("SELECT DESCRIPTION FROM ITEMS WHERE ID = 1",
+                String.class));
+        assertEquals("веник", jdbcTemplate.queryForObject("SELECT NAME FROM ITEMS WHERE ID = 1", String.class));
+    }
+
     @Test
     void updateItemByIncorrectUser() {
         long userId = 1;
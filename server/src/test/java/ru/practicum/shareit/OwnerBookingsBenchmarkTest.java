@@ -0,0 +1,88 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.transaction.Transactional;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Slf4j
+@Tag("benchmark")
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+public class OwnerBookingsBenchmarkTest {
+    private static final int BOOKERS = 100;
+    private static final int ITEMS = 50;
+    private static final int BOOKINGS = 2000;
+    private static final int WARMUP = 200;
+    private static final int REQUESTS = 2000;
+    private static final int PAGE_SIZE = 10;
+    private final MockMvc mvc;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OwnerBookingsBenchmarkTest(MockMvc mvc, JdbcTemplate jdbcTemplate) {
+        this.mvc = mvc;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    protected String getCacheMode() {
+        return "включен";
+    }
+
+    @Test
+    void getAllBookingsByOwnerId() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= BOOKERS + 1; id++) {
+            users.add(new Object[]{id, "пользователь " + id, "user" + id + "@mail.ru"});
+        }
+        List<Object[]> items = new ArrayList<>();
+        for (long id = 1; id <= ITEMS; id++) {
+            items.add(new Object[]{id, 1, "вещь " + id, "описание", true});
+        }
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = now.minusDays(i);
+            bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)),
+                    i % ITEMS + 1, i % BOOKERS + 2, "APPROVED"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO USERS (id, name, email) VALUES (?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO ITEMS (id, user_id, name, description, available) " +
+                "VALUES (?, ?, ?, ?, ?)", items);
+        jdbcTemplate.batchUpdate("INSERT INTO BOOKINGS (start_time, end_time, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?)", bookings);
+
+        for (int i = 0; i < WARMUP; i++) {
+            getPage(i);
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            getPage(i);
+        }
+        long elapsed = System.nanoTime() - started;
+        log.info("GET /bookings/owner, кэш пользователей {}: {} запросов/с, {} мкс на запрос", getCacheMode(),
+                REQUESTS * 1_000_000_000L / elapsed, elapsed / REQUESTS / 1_000);
+    }
+
+    private void getPage(int request) throws Exception {
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", String.valueOf(request % (BOOKINGS / PAGE_SIZE) * PAGE_SIZE))
+                        .param("size", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk());
+    }
+}
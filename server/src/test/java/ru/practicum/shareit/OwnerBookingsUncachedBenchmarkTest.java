@@ -0,0 +1,26 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.transaction.Transactional;
+
+@Tag("benchmark")
+@Transactional
+@SpringBootTest(properties = "shareit.user-cache.enabled=false")
+@AutoConfigureMockMvc
+public class OwnerBookingsUncachedBenchmarkTest extends OwnerBookingsBenchmarkTest {
+    @Autowired
+    public OwnerBookingsUncachedBenchmarkTest(MockMvc mvc, JdbcTemplate jdbcTemplate) {
+        super(mvc, jdbcTemplate);
+    }
+
+    @Override
+    protected String getCacheMode() {
+        return "выключен";
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.SearchAnalytics;
+import ru.practicum.shareit.item.dto.QueryCountDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SearchAnalyticsTest {
+
+    @Test
+    void getPopular() {
+        SearchAnalytics analytics = new SearchAnalytics(2, 10);
+        analytics.record("кофемашина");
+        for (int i = 0; i < 5; i++) {
+            analytics.record("Дрель");
+        }
+        for (int i = 0; i < 3; i++) {
+            analytics.record("метла ");
+        }
+        analytics.record(" ");
+        List<QueryCountDto> popular = analytics.getPopular();
+        assertEquals(List.of("дрель", "метла"), popular.stream()
+                .map(QueryCountDto::getQuery)
+                .collect(Collectors.toList()));
+        assertEquals(5, popular.get(0).getCount());
+        assertEquals(5, analytics.estimate("дрель"));
+        assertEquals(9, analytics.getAnalytics().getTotal());
+    }
+
+    @Test
+    void getRecent() {
+        SearchAnalytics analytics = new SearchAnalytics(2, 3);
+        assertEquals(List.of(), analytics.getRecent());
+        for (String text : List.of("дрель", "метла", "кофемашина", "пила")) {
+            analytics.record(text);
+        }
+        assertEquals(List.of("пила", "кофемашина", "метла"), analytics.getRecent());
+    }
+
+    /*запросы записываются из нескольких потоков одновременно*/
+    @Test
+    void recordConcurrently() throws InterruptedException {
+        SearchAnalytics analytics = new SearchAnalytics(5, 10);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    analytics.record(j % 2 == 0 ? "дрель" : "запрос " + j);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40_000, analytics.getAnalytics().getTotal());
+        assertTrue(analytics.estimate("дрель") >= 20_000);
+        assertEquals("дрель", analytics.getPopular().get(0).getQuery());
+        assertEquals(10, analytics.getRecent().size());
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.UserCache;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class UserCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+    private UserCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void createCache() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserCache(meterRegistry, true, 100);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get() {
+        assertEquals("Иван", cache.get(1, this::load).getName());
+        cache.get(1, this::load).setName("Петр");
+        assertEquals("Иван", cache.get(1, this::load).getName());
+        assertEquals(1, loads.get());
+        assertEquals(2, meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void getAll() {
+        cache.get(1, this::load);
+        List<UserDto> users = cache.getAll(List.of(1L, 2L, 3L), ids -> {
+            assertThat(ids, containsInAnyOrder(2L, 3L));
+            return List.of(load(2), load(3));
+        });
+        assertThat(users, containsInAnyOrder(hasProperty("id", equalTo(1L)),
+                hasProperty("id", equalTo(2L)),
+                hasProperty("id", equalTo(3L))));
+        cache.getAll(List.of(2L, 3L), ids -> List.of());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void invalidate() {
+        cache.get(1, this::load);
+        cache.invalidate(1);
+        cache.get(1, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    /*пользователь изменился, пока загружался из базы*/
+    @Test
+    void invalidateWhileLoading() {
+        cache.get(1, id -> {
+            cache.invalidate(id);
+            return load(id);
+        });
+        cache.getAll(List.of(1L), ids -> {
+            cache.invalidate(1);
+            return List.of(load(1));
+        });
+        cache.get(1, this::load);
+        assertEquals(3, loads.get());
+    }
+
+    /*при выключенном кэше каждый запрос идет в базу*/
+    @Test
+    void disabled() {
+        cache = new UserCache(meterRegistry, false, 100);
+        cache.get(1, this::load);
+        cache.get(1, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    private UserDto load(long id) {
+        loads.incrementAndGet();
+        return new UserDto(id, "Иван", "ivan" + id + "@mail.ru");
+    }
+}
@@ -9,7 +9,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.practicum.shareit.common.CursorCodec;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.user.UserController;
 import ru.practicum.shareit.user.UserService;
@@ -17,12 +19,17 @@ import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = UserController.class)
 public class UserControllerTest {
@@ -74,6 +81,64 @@ public class UserControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].email", Matchers.is("petr@mail.ru")));
     }
 
+    @Test
+    void getUsersWithCursor() throws Exception {
+        when(userService.getUsersAfter(1L, 2L))
+                .thenReturn(userDtos);
+        mvc.perform(get("/users")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("cursor", CursorCodec.encode(1L))
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(2)))
+                .andExpect(header().string(CursorCodec.NEXT_CURSOR_HEADER, CursorCodec.encode(2L)));
+    }
+
+    /*указан только from*/
+    @Test
+    void getUsersWithFrom() throws Exception {
+        when(userService.getUsers(1L, 10L))
+                .thenReturn(userDtos.subList(1, 2));
+        mvc.perform(get("/users")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("from", "1"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", Matchers.is(2)));
+        verify(userService, never()).getAllUsers();
+    }
+
+    /*указан неположительный размер страницы*/
+    @Test
+    void getUsersWithIncorrectParameterSize() throws Exception {
+        mvc.perform(get("/users")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportUsers() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserDto> action = invocation.getArgument(0);
+            userDtos.forEach(action);
+            return null;
+        }).when(userService).exportUsers(any());
+        MvcResult result = mvc.perform(get("/users")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(1_800_000, result.getRequest().getAsyncContext().getTimeout());
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().bytes((mapper.writeValueAsString(userDtos.get(0)) + "\n"
+                        + mapper.writeValueAsString(userDtos.get(1)) + "\n").getBytes(StandardCharsets.UTF_8)));
+    }
+
     @Test
     void getUserById() throws Exception {
         long userId = 1;
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.common.BatchDto;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -15,6 +16,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.allOf;
@@ -68,6 +70,37 @@ public class UserServiceImplTest {
         }
     }
 
+    @Test
+    void getUsers() {
+        List<UserDto> users = service.getUsers(1, 5);
+        assertThat(users, hasSize(2));
+        assertEquals(2, users.get(0).getId());
+        assertEquals(3, users.get(1).getId());
+
+        List<UserDto> usersAfter = service.getUsersAfter(1, 1);
+        assertThat(usersAfter, hasSize(1));
+        assertEquals("Петр", usersAfter.get(0).getName());
+        assertThat(service.getUsersAfter(3, 5), empty());
+    }
+
+    @Test
+    void getUsersBatch() {
+        BatchDto<UserDto> batch = service.getUsersBatch(List.of(3L, 8L, 1L, 3L));
+        assertThat(batch.getFound(), hasSize(2));
+        assertEquals("Вася", batch.getFound().get(0).getName());
+        assertEquals("Иван", batch.getFound().get(1).getName());
+        assertEquals(List.of(8L), batch.getMissing());
+    }
+
+    @Test
+    void exportUsers() {
+        List<UserDto> users = new ArrayList<>();
+        service.exportUsers(users::add);
+        assertThat(users, hasSize(3));
+        assertEquals(1, users.get(0).getId());
+        assertEquals("vase@mail.ru", users.get(2).getEmail());
+    }
+
     @Test
     void removeUser() {
         TypedQuery<User> query = em.createQuery("Select u from User u", User.class);